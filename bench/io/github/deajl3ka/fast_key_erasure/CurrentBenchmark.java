@@ -0,0 +1,64 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of looking up the thread-local instance via {@link FastKeyErasureRNG#current()}, with an increasing number of threads
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurrentBenchmark {
+
+    @Benchmark
+    @Threads(1)
+    public FastKeyErasureRNG current_1() {
+        return FastKeyErasureRNG.current();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public FastKeyErasureRNG current_4() {
+        return FastKeyErasureRNG.current();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public FastKeyErasureRNG current_max() {
+        return FastKeyErasureRNG.current();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long currentNextLong_max() {
+        return FastKeyErasureRNG.current().nextLong();
+    }
+}
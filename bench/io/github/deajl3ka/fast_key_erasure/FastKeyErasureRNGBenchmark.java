@@ -0,0 +1,120 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the methods that are specific to {@link FastKeyErasureRNG}, for each cipher engine and batch size; the cost of the continuous health tests is measured by {@link HealthTestsBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FastKeyErasureRNGBenchmark {
+
+    @Param({"AES_JCA", "AES_JAVA", "CHACHA20"})
+    private FastKeyErasureRNG.Engine engine;
+
+    @Param({"96", "768", "65536"})
+    private int batchSize;
+
+    private FastKeyErasureRNG random;
+
+    private final byte[] buffer = new byte[1048576];
+
+    private final int[] indices = new int[65536];
+
+    private final TokenGenerator tokenGenerator = TokenGenerator.of(TokenGenerator.Alphabet.BASE64URL, 22);
+
+    private final char[] token = new char[22];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = FastKeyErasureRNG.builder().engine(engine).batchSize(batchSize).healthTests(false).build();
+    }
+
+    // ======================================================================
+    // Benchmark methods
+    // ======================================================================
+
+    @Benchmark
+    public UUID nextUuid() {
+        return random.nextUuid();
+    }
+
+    @Benchmark
+    public int nextIntBounded() {
+        return random.nextInt(100);
+    }
+
+    @Benchmark
+    public long nextLongBounded() {
+        return random.nextLong(1000000000000L);
+    }
+
+    @Benchmark
+    public double nextGaussian() {
+        return random.nextGaussian();
+    }
+
+    @Benchmark
+    public double nextExponential() {
+        return random.nextExponential();
+    }
+
+    @Benchmark
+    public int[] shuffle() {
+        random.shuffle(indices);
+        return indices;
+    }
+
+    @Benchmark
+    public char[] nextToken() {
+        tokenGenerator.nextToken(random, token, 0);
+        return token;
+    }
+
+    @Benchmark
+    public void reseed() {
+        random.reseed();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public byte[] nextBytesLarge() {
+        random.nextBytes(buffer);
+        return buffer;
+    }
+}
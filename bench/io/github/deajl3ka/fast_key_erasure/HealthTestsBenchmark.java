@@ -0,0 +1,77 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of the continuous health tests on the paths where it matters, with the default cipher engine: the “stuck output” test on large refills, and the SP 800-90B tests of the raw source output on re-seeds that draw from the {@code DRBG} source directly
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HealthTestsBenchmark {
+
+    @Param({"96", "65536"})
+    private int batchSize;
+
+    @Param({"false", "true"})
+    private boolean healthTests;
+
+    private FastKeyErasureRNG random, direct;
+
+    private final byte[] buffer = new byte[1048576];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        random = FastKeyErasureRNG.builder().batchSize(batchSize).healthTests(healthTests).build();
+        direct = FastKeyErasureRNG.builder().entropy(FastKeyErasureRNG.Entropy.DRBG).batchSize(batchSize).healthTests(healthTests).build();
+    }
+
+    // ======================================================================
+    // Benchmark methods
+    // ======================================================================
+
+    @Benchmark
+    public void reseed() {
+        direct.reseed();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public byte[] nextBytesLarge() {
+        random.nextBytes(buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link FastKeyErasureRNG} with the random number generators of the JDK, using the common {@link Random} interface
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RandomBenchmark {
+
+    @Param({"FastKeyErasureRNG", "FastKeyErasureRNG/AES_JAVA", "FastKeyErasureRNG/CHACHA20", "NativePRNG", "DRBG", "ThreadLocalRandom"})
+    private String generator;
+
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setup() throws GeneralSecurityException {
+        random = createGenerator(generator);
+    }
+
+    static Random createGenerator(final String name) throws GeneralSecurityException {
+        switch (name) {
+            case "FastKeyErasureRNG":
+                return FastKeyErasureRNG.current(FastKeyErasureRNG.Engine.AES_JCA);
+            case "FastKeyErasureRNG/AES_JAVA":
+                return FastKeyErasureRNG.current(FastKeyErasureRNG.Engine.AES_JAVA);
+            case "FastKeyErasureRNG/CHACHA20":
+                return FastKeyErasureRNG.current(FastKeyErasureRNG.Engine.CHACHA20);
+            case "ThreadLocalRandom":
+                return ThreadLocalRandom.current();
+            default:
+                return SecureRandom.getInstance(name);
+        }
+    }
+
+    // ======================================================================
+    // Benchmark methods
+    // ======================================================================
+
+    @Benchmark
+    public byte[] nextBytes(final BufferState state) {
+        random.nextBytes(state.buffer);
+        return state.buffer;
+    }
+
+    @Benchmark
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Benchmark
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Benchmark
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Benchmark
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+    // ======================================================================
+    // State classes
+    // ======================================================================
+
+    /**
+     * Holds the output buffer of the {@code nextBytes()} benchmark, so that the buffer size is only a parameter of that benchmark
+     */
+    @State(Scope.Thread)
+    public static class BufferState {
+
+        @Param({"16", "256", "4096", "65536"})
+        private int size;
+
+        private byte[] buffer;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            buffer = new byte[size];
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package io.github.deajl3ka.fast_key_erasure.jmh_generated;
+public class FastKeyErasureRNGBenchmark_jmhType extends FastKeyErasureRNGBenchmark_jmhType_B3 {
+}
+
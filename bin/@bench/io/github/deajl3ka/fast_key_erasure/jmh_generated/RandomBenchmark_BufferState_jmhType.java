@@ -0,0 +1,4 @@
+package io.github.deajl3ka.fast_key_erasure.jmh_generated;
+public class RandomBenchmark_BufferState_jmhType extends RandomBenchmark_BufferState_jmhType_B3 {
+}
+
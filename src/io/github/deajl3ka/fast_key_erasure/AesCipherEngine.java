@@ -0,0 +1,170 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free pure-Java implementation of AES-256, using the well-known “T-table” approach
+ * <p>
+ * The key is expanded straight into a reusable {@code int[]} schedule, which is overwritten in place whenever a new key is set, so this engine avoids the provider dispatch and the defensive key copies of the JCA. Note that table lookups are <i>not</i> constant-time; prefer the JCA engine where cache-timing side channels are a concern.
+ * 
+ * @author dEajL3kA {@literal <Cumpoing79@web.de>
+ */
+final class AesCipherEngine implements CipherEngine {
+
+    private static final int ROUNDS = 14, SCHEDULE_SIZE = 4 * (ROUNDS + 1);
+
+    private static final int[] RCON = new int[] { 0x01, 0x02, 0x04, 0x08, 0x10, 0x20, 0x40 };
+
+    private static final int[] SBOX = new int[256], T0 = new int[256], T1 = new int[256], T2 = new int[256], T3 = new int[256];
+    static {
+        // Compute the S-box from the multiplicative inverse in GF(2^8) followed by the affine transformation
+        int p = 1, q = 1;
+        do {
+            p = p ^ (p << 1) ^ (((p & 0x80) != 0) ? 0x11B : 0);
+            q ^= q << 1;
+            q ^= q << 2;
+            q ^= q << 4;
+            q &= 0xFF;
+            if ((q & 0x80) != 0) {
+                q ^= 0x09;
+            }
+            SBOX[p] = (q ^ rotl8(q, 1) ^ rotl8(q, 2) ^ rotl8(q, 3) ^ rotl8(q, 4) ^ 0x63) & 0xFF;
+        } while (p != 1);
+        SBOX[0] = 0x63;
+
+        for (int i = 0; i < 256; ++i) {
+            final int s = SBOX[i], s2 = xtime(s), s3 = s2 ^ s;
+            T0[i] = (s2 << 24) | (s << 16) | (s << 8) | s3;
+            T1[i] = Integer.rotateRight(T0[i], 8);
+            T2[i] = Integer.rotateRight(T0[i], 16);
+            T3[i] = Integer.rotateRight(T0[i], 24);
+        }
+    }
+
+    private final int[] schedule = new int[SCHEDULE_SIZE], block = new int[4];
+
+    private final boolean counterMode;
+
+    private long counterHi, counterLo;
+
+    AesCipherEngine(final boolean counterMode) {
+        this.counterMode = counterMode;
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    @Override
+    public void setKey(final byte[] key) {
+        assert (key != null) && (key.length == 32);
+        final int[] w = schedule;
+        for (int i = 0; i < 8; ++i) {
+            w[i] = readInt(key, 4 * i);
+        }
+        for (int i = 8; i < SCHEDULE_SIZE; ++i) {
+            int temp = w[i - 1];
+            if ((i & 7) == 0) {
+                temp = subWord(Integer.rotateLeft(temp, 8)) ^ (RCON[(i >>> 3) - 1] << 24);
+            } else if ((i & 7) == 4) {
+                temp = subWord(temp);
+            }
+            w[i] = w[i - 8] ^ temp;
+        }
+        counterHi = counterLo = 0L;
+    }
+
+    @Override
+    public void encrypt(final byte[] input, final int inputOffset, final byte[] output, final int outputOffset, final int length) {
+        assert (length % 16) == 0;
+        for (int pos = 0; pos < length; pos += 16) {
+            if (counterMode) {
+                block[0] = (int)(counterHi >>> 32);
+                block[1] = (int)counterHi;
+                block[2] = (int)(counterLo >>> 32);
+                block[3] = (int)counterLo;
+                if (++counterLo == 0L) {
+                    ++counterHi;
+                }
+                encryptBlock(block);
+                for (int i = 0; i < 4; ++i) {
+                    writeInt(output, outputOffset + pos + 4 * i, readInt(input, inputOffset + pos + 4 * i) ^ block[i]);
+                }
+            } else {
+                for (int i = 0; i < 4; ++i) {
+                    block[i] = readInt(input, inputOffset + pos + 4 * i);
+                }
+                encryptBlock(block);
+                for (int i = 0; i < 4; ++i) {
+                    writeInt(output, outputOffset + pos + 4 * i, block[i]);
+                }
+            }
+        }
+        Arrays.fill(block, 0);
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void encryptBlock(final int[] block) {
+        final int[] w = schedule;
+        int s0 = block[0] ^ w[0], s1 = block[1] ^ w[1], s2 = block[2] ^ w[2], s3 = block[3] ^ w[3];
+        for (int round = 1, k = 4; round < ROUNDS; ++round, k += 4) {
+            final int t0 = T0[s0 >>> 24] ^ T1[(s1 >>> 16) & 0xFF] ^ T2[(s2 >>> 8) & 0xFF] ^ T3[s3 & 0xFF] ^ w[k];
+            final int t1 = T0[s1 >>> 24] ^ T1[(s2 >>> 16) & 0xFF] ^ T2[(s3 >>> 8) & 0xFF] ^ T3[s0 & 0xFF] ^ w[k + 1];
+            final int t2 = T0[s2 >>> 24] ^ T1[(s3 >>> 16) & 0xFF] ^ T2[(s0 >>> 8) & 0xFF] ^ T3[s1 & 0xFF] ^ w[k + 2];
+            final int t3 = T0[s3 >>> 24] ^ T1[(s0 >>> 16) & 0xFF] ^ T2[(s1 >>> 8) & 0xFF] ^ T3[s2 & 0xFF] ^ w[k + 3];
+            s0 = t0; s1 = t1; s2 = t2; s3 = t3;
+        }
+        final int k = 4 * ROUNDS;
+        block[0] = finalRound(s0, s1, s2, s3) ^ w[k];
+        block[1] = finalRound(s1, s2, s3, s0) ^ w[k + 1];
+        block[2] = finalRound(s2, s3, s0, s1) ^ w[k + 2];
+        block[3] = finalRound(s3, s0, s1, s2) ^ w[k + 3];
+    }
+
+    private static int finalRound(final int a, final int b, final int c, final int d) {
+        return (SBOX[a >>> 24] << 24) | (SBOX[(b >>> 16) & 0xFF] << 16) | (SBOX[(c >>> 8) & 0xFF] << 8) | SBOX[d & 0xFF];
+    }
+
+    private static int subWord(final int word) {
+        return (SBOX[word >>> 24] << 24) | (SBOX[(word >>> 16) & 0xFF] << 16) | (SBOX[(word >>> 8) & 0xFF] << 8) | SBOX[word & 0xFF];
+    }
+
+    private static int xtime(final int value) {
+        return ((value << 1) ^ (((value & 0x80) != 0) ? 0x1B : 0)) & 0xFF;
+    }
+
+    private static int rotl8(final int value, final int shift) {
+        return ((value << shift) | (value >>> (8 - shift))) & 0xFF;
+    }
+
+    private static int readInt(final byte[] buffer, final int offset) {
+        return ((buffer[offset] & 0xFF) << 24) | ((buffer[offset + 1] & 0xFF) << 16) | ((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(final byte[] buffer, final int offset, final int value) {
+        buffer[offset    ] = (byte)(value >>> 24);
+        buffer[offset + 1] = (byte)(value >>> 16);
+        buffer[offset + 2] = (byte)(value >>> 8);
+        buffer[offset + 3] = (byte)value;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free pure-Java implementation of the ChaCha20 stream cipher (RFC 8439), for hosts where AES is not hardware accelerated
+ * <p>
+ * The input is combined with the key stream, which starts at block counter zero (and with an all-zero nonce) whenever a new key is set; the position in the key stream advances across successive calls. Unlike the table-based AES engine, this engine is constant-time.
+ * 
+ * @author dEajL3kA {@literal <Cumpoing79@web.de>
+ */
+final class ChaCha20CipherEngine implements CipherEngine {
+
+    private static final int STATE_WORDS = 16, BLOCK_BYTES = 64, DOUBLE_ROUNDS = 10;
+
+    private final int[] state = new int[STATE_WORDS], block = new int[STATE_WORDS];
+
+    private int blockPos = BLOCK_BYTES;
+
+    ChaCha20CipherEngine() {
+        state[0] = 0x61707865;
+        state[1] = 0x3320646E;
+        state[2] = 0x79622D32;
+        state[3] = 0x6B206574;
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    @Override
+    public void setKey(final byte[] key) {
+        assert (key != null) && (key.length == 32);
+        for (int i = 0; i < 8; ++i) {
+            state[4 + i] = readIntLE(key, 4 * i);
+        }
+        state[12] = state[13] = state[14] = state[15] = 0;
+        Arrays.fill(block, 0);
+        blockPos = BLOCK_BYTES;
+    }
+
+    @Override
+    public void encrypt(final byte[] input, final int inputOffset, final byte[] output, final int outputOffset, final int length) {
+        assert (length % 16) == 0;
+        for (int pos = 0; pos < length; pos += 4) {
+            if (blockPos >= BLOCK_BYTES) {
+                nextKeyStreamBlock();
+            }
+            writeIntLE(output, outputOffset + pos, readIntLE(input, inputOffset + pos) ^ block[blockPos >>> 2]);
+            blockPos += 4;
+        }
+        // Wipe the consumed key stream, the remainder is still needed by the next call
+        Arrays.fill(block, 0, blockPos >>> 2, 0);
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void nextKeyStreamBlock() {
+        int x0 = state[0], x1 = state[1], x2 = state[2], x3 = state[3], x4 = state[4], x5 = state[5], x6 = state[6], x7 = state[7];
+        int x8 = state[8], x9 = state[9], x10 = state[10], x11 = state[11], x12 = state[12], x13 = state[13], x14 = state[14], x15 = state[15];
+
+        for (int i = 0; i < DOUBLE_ROUNDS; ++i) {
+            // Column rounds
+            x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 16); x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 12); x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 8); x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 7);
+            x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 16); x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 12); x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 8); x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 7);
+            x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 16); x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 12); x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 8); x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 7);
+            x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 16); x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 12); x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 8); x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 7);
+            // Diagonal rounds
+            x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 16); x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 12); x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 8); x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 7);
+            x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 16); x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 12); x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 8); x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 7);
+            x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 16); x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 12); x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 8); x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 7);
+            x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 16); x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 12); x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 8); x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 7);
+        }
+
+        block[0] = x0 + state[0]; block[1] = x1 + state[1]; block[2] = x2 + state[2]; block[3] = x3 + state[3];
+        block[4] = x4 + state[4]; block[5] = x5 + state[5]; block[6] = x6 + state[6]; block[7] = x7 + state[7];
+        block[8] = x8 + state[8]; block[9] = x9 + state[9]; block[10] = x10 + state[10]; block[11] = x11 + state[11];
+        block[12] = x12 + state[12]; block[13] = x13 + state[13]; block[14] = x14 + state[14]; block[15] = x15 + state[15];
+
+        ++state[12];
+        blockPos = 0;
+    }
+
+    private static int readIntLE(final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xFF) | ((buffer[offset + 1] & 0xFF) << 8) | ((buffer[offset + 2] & 0xFF) << 16) | ((buffer[offset + 3] & 0xFF) << 24);
+    }
+
+    private static void writeIntLE(final byte[] buffer, final int offset, final int value) {
+        buffer[offset    ] = (byte)value;
+        buffer[offset + 1] = (byte)(value >>> 8);
+        buffer[offset + 2] = (byte)(value >>> 16);
+        buffer[offset + 3] = (byte)(value >>> 24);
+    }
+}
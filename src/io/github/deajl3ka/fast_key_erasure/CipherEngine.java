@@ -0,0 +1,40 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.security.GeneralSecurityException;
+
+/**
+ * Cipher engine that is used by {@link FastKeyErasureRNG} to generate the key stream
+ * <p>
+ * An engine is either operated in “ECB” mode, where each 128-bit block of the input is encrypted separately, or in “CTR” mode, where the input is combined with the encrypted counter values; the counter is restarted at zero whenever a new key is set.
+ * 
+ * @author dEajL3kA {@literal <Cumpoing79@web.de>
+ */
+interface CipherEngine {
+
+    /**
+     * Expand the given 256-bit key and make it the current key; the engine does <i>not</i> retain a reference to the given array
+     */
+    void setKey(byte[] key) throws GeneralSecurityException;
+
+    /**
+     * Encrypt the given number of bytes, which must be a multiple of the block size, with the current key
+     */
+    void encrypt(byte[] input, int inputOffset, byte[] output, int outputOffset, int length) throws GeneralSecurityException;
+}
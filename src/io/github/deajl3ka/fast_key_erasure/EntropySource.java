@@ -0,0 +1,51 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+/**
+ * Source of the entropy that is used by {@link FastKeyErasureRNG} to (re-)seed the generator
+ * <p>
+ * Implementations must be thread-safe, because a single source is shared by all instances that have selected it.
+ * 
+ * @author dEajL3kA {@literal <Cumpoing79@web.de>
+ */
+interface EntropySource {
+
+    /**
+     * Fill the given array completely with fresh seed material
+     */
+    void generateSeed(byte[] seed);
+
+    /**
+     * Fill the given array completely with fresh seed material, but only if that is possible without waiting
+     * <p>
+     * The default implementation never fills the array, because a direct read from the source may block; wrap the source in a {@link SeedHarvester} to take seeds without waiting.
+     * 
+     * @return {@code true}, if the array was filled, or {@code false} otherwise
+     */
+    default boolean tryGenerateSeed(byte[] seed) {
+        return false;
+    }
+
+    /**
+     * Refresh the internal state of the source, if it has any, from the platform's entropy source; this is called by {@link FastKeyErasureRNG#reseedAll()}
+     * <p>
+     * The default implementation does nothing, because a source that reads from the platform on every call has no state that could have been cloned by a VM snapshot.
+     */
+    default void reseed() { }
+}
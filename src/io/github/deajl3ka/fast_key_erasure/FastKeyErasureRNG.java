@@ -20,15 +20,27 @@ package io.github.deajl3ka.fast_key_erasure;
 import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectOutputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
-import java.security.KeyException;
 import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
+import java.util.RandomAccess;
 import java.util.UUID;
-
-import javax.crypto.Cipher;
-import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 
 /**
  * Fast-key-erasure random-number generator for Java
@@ -42,6 +54,14 @@ public class FastKeyErasureRNG extends Random {
 
     private static final int KEY_SIZE = 32, OUT_SIZE = 96, RESEED_INTERVAL = 257;
 
+    private static final int BLOCK_SIZE = 16, MAX_BATCH_SIZE = 1048576, DIRECT_THRESHOLD = 4096;
+
+    private static final int SWAP_BATCH = 8, FLOYD_RATIO = 4;
+
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
     /**
      * 128-bit (16 bytes) words to be used as “plaintext” counter values, generated reproducibly to maximize the pairwise hamming-distance, cf. {@link GenerateCounter}
      */
@@ -58,57 +78,490 @@ public class FastKeyErasureRNG extends Random {
         (byte)0xD0, (byte)0x76, (byte)0xFE, (byte)0x69, (byte)0x30, (byte)0xB8, (byte)0x2A, (byte)0x95, (byte)0x18, (byte)0x74, (byte)0x0C, (byte)0xAF, (byte)0xE1, (byte)0x01, (byte)0x6B, (byte)0x58
     };
 
-    private static final SecureRandom strongRandom;
+    /**
+     * System properties that select the default cipher engine, the default JCA provider, the default entropy source and whether health tests are enabled by default, e.g. {@code -Dio.github.deajl3ka.fast_key_erasure.provider=auto}
+     */
+    private static final String PROPERTY_ENGINE = "io.github.deajl3ka.fast_key_erasure.engine", PROPERTY_PROVIDER = "io.github.deajl3ka.fast_key_erasure.provider", PROPERTY_ENTROPY = "io.github.deajl3ka.fast_key_erasure.entropy",
+            PROPERTY_HEALTH = "io.github.deajl3ka.fast_key_erasure.health";
+
+    /**
+     * System properties that override the limits of the default re-seed policy, cf. {@link ReseedPolicy}; the maximum age is specified in milliseconds
+     */
+    private static final String PROPERTY_RESEED_BLOCKS = "io.github.deajl3ka.fast_key_erasure.reseed.blocks", PROPERTY_RESEED_BYTES = "io.github.deajl3ka.fast_key_erasure.reseed.bytes",
+            PROPERTY_RESEED_AGE = "io.github.deajl3ka.fast_key_erasure.reseed.age", PROPERTY_RESEED_DEFERRED = "io.github.deajl3ka.fast_key_erasure.reseed.deferred";
+
+    private static final Logger LOGGER = Logger.getLogger(FastKeyErasureRNG.class.getName());
+
+    private static final Engine DEFAULT_ENGINE = enumProperty(PROPERTY_ENGINE, Engine.class, Engine.AES_JCA);
+
+    private static final String DEFAULT_PROVIDER = System.getProperty(PROPERTY_PROVIDER);
+
+    private static final Entropy DEFAULT_ENTROPY = enumProperty(PROPERTY_ENTROPY, Entropy.class, Entropy.STRONG);
+
+    private static final ReseedPolicy DEFAULT_RESEED_POLICY = ReseedPolicy.fromProperties();
+
+    private static final boolean DEFAULT_HEALTH_TESTS = booleanProperty(PROPERTY_HEALTH, true);
     static {
         assert PLAINTEXT_K.length == KEY_SIZE : "Inconsistent plaintext size!";
         assert PLAINTEXT_V.length == OUT_SIZE : "Inconsistent plaintext size!";
-        try {
-            strongRandom = SecureRandom.getInstanceStrong();
-        } catch (final GeneralSecurityException e) {
-            throw new RuntimeException("Failed to create secure random number generator!", e);
-        }
+    }
+
+    /**
+     * Harvests the seeds from the default entropy source in the background, so that a re-seed does not have to wait for the kernel's entropy
+     */
+    private static final SeedHarvester seedHarvester = DEFAULT_ENTROPY.getHarvester();
+
+    /**
+     * Derives the seeds of all ordinary instances from a few “root” instances, so that the entropy source is <i>not</i> contended by every thread
+     */
+    private static final SeedDistributor seedDistributor = new SeedDistributor(FastKeyErasureRNG::createRoot);
+
+    /**
+     * Global re-seed epoch, which is incremented by {@link #reseedAll()}; each instance compares it to the epoch of its last re-seed
+     */
+    private static final AtomicInteger globalEpoch = new AtomicInteger();
+
+    /**
+     * Holder of the shared all-zero input of the “batch” mode, which is allocated on first use; it is only ever read, never written
+     */
+    private static final class ZeroSource {
+        private static final byte[] ZEROS = new byte[MAX_BATCH_SIZE + KEY_SIZE];
     }
 
     // ======================================================================
     // Constructor
     // ======================================================================
 
-    private final Cipher cipher;
+    private final CipherEngine engine;
 
-    private final KeyWrapper wrappedKey = new KeyWrapper();
+    private final EntropySource entropySource;
 
-    private final byte[] keyData = new byte[KEY_SIZE], outData = new byte[OUT_SIZE];
+    private final Builder config;
 
-    private int reseedCounter = RESEED_INTERVAL, nextPos = OUT_SIZE;
+    private final ReseedPolicy reseedPolicy;
+
+    private final HealthMonitor healthMonitor;
+
+    private final boolean counterMode, reseedDeferred, fullPrecision;
+
+    private final byte[] keyData = new byte[KEY_SIZE], outData;
+
+    private final int batchSize;
+
+    private final long[] entropyPool = new long[KEY_SIZE / Long.BYTES];
+
+    private final ByteBuffer outView;
+
+    private byte[] blockOutput;
+
+    private final long reseedLimit, reseedAge;
+
+    private long reseedCounter, reseedTime, bitPool;
+
+    private boolean reseedPending = true, seeded = false, entropyPending = false, nonBlocking = false;
+
+    private int reseedEpoch = globalEpoch.get(), entropyPos, nextPos, bitCount, blockOffset;
 
     protected FastKeyErasureRNG() {
+        this(new Builder());
+    }
+
+    protected FastKeyErasureRNG(final int batchSize) {
+        this(new Builder().batchSize(batchSize));
+    }
+
+    protected FastKeyErasureRNG(final Engine engine, final int batchSize) {
+        this(new Builder().engine(engine).batchSize(batchSize));
+    }
+
+    /**
+     * Create a new instance with the configuration of the given builder
+     * <p>
+     * The default batch size of 96 bytes encrypts the fixed “plaintext” counter values in ECB mode. Any larger batch size switches to the “batch” mode, which produces the next key plus the whole batch in a single bulk CTR mode operation, so that the cost of the key schedule is amortized over many more output bytes.
+     * 
+     * @param builder the builder that holds the cipher engine, the JCA provider, the entropy source, the re-seed policy and the batch size to be used
+     */
+    protected FastKeyErasureRNG(final Builder builder) {
+        this(builder, (builder != null) ? builder.getEntropySource() : null);
+    }
+
+    private FastKeyErasureRNG(final Builder builder, final EntropySource entropySource) {
         super(0);
+        if (builder == null) {
+            throw new IllegalArgumentException("Builder must not be null!");
+        }
+        final int batchSize = builder.batchSize;
+        if ((batchSize < OUT_SIZE) || (batchSize > MAX_BATCH_SIZE) || (batchSize % BLOCK_SIZE != 0)) {
+            throw new IllegalArgumentException("Invalid batch size!");
+        }
+        counterMode = (batchSize != OUT_SIZE);
+        // In the “batch” mode, the next key follows the output, so that both are produced by a single CTR run
+        outData = new byte[counterMode ? batchSize + KEY_SIZE : batchSize];
+        outView = ByteBuffer.wrap(outData);
+        blockOutput = outData;
+        this.batchSize = nextPos = batchSize;
+        this.entropySource = entropySource;
+        config = new Builder(builder);
+        reseedPolicy = builder.reseedPolicy;
+        reseedLimit = reseedPolicy.getBlockLimit(batchSize);
+        reseedAge = reseedPolicy.maxAge;
+        reseedDeferred = reseedPolicy.deferred;
+        healthMonitor = builder.healthTests ? new HealthMonitor() : null;
+        fullPrecision = builder.fullPrecision;
         try {
-            cipher = Cipher.getInstance("AES/ECB/NoPadding");
+            engine = builder.engine.createEngine(counterMode, builder.provider);
             emplaceKey();
         } catch (final GeneralSecurityException e) {
             throw new RuntimeException("Failed to create the required AES cipher!", e);
         }
-   }
+    }
+
+    // ======================================================================
+    // Engine types
+    // ======================================================================
+
+    public enum Engine {
+        /**
+         * AES-256 implementation of the Java Cryptography Architecture (JCA), as provided by the first provider that supports it
+         */
+        AES_JCA {
+            @Override
+            CipherEngine createEngine(final boolean counterMode, final String provider) throws GeneralSecurityException {
+                return new JcaCipherEngine(counterMode, provider);
+            }
+        },
+
+        /**
+         * Allocation-free pure-Java AES-256 implementation, which avoids the overhead of the JCA on small refills
+         */
+        AES_JAVA {
+            @Override
+            CipherEngine createEngine(final boolean counterMode, final String provider) {
+                return new AesCipherEngine(counterMode);
+            }
+        },
+
+        /**
+         * Allocation-free pure-Java ChaCha20 implementation, which is much faster than AES on hosts without AES hardware acceleration
+         */
+        CHACHA20 {
+            @Override
+            CipherEngine createEngine(final boolean counterMode, final String provider) {
+                return new ChaCha20CipherEngine();
+            }
+        };
+
+        abstract CipherEngine createEngine(final boolean counterMode, final String provider) throws GeneralSecurityException;
+    }
+
+    // ======================================================================
+    // Entropy sources
+    // ======================================================================
+
+    public enum Entropy {
+        /**
+         * The “strong” {@link SecureRandom} instance of the platform, which may be backed by the <i>blocking</i> {@code /dev/random} device
+         */
+        STRONG {
+            @Override
+            EntropySource createSource() throws GeneralSecurityException {
+                return SecureRandomEntropySource.strong();
+            }
+
+            /**
+             * Returns the {@code /dev/urandom} device or, if that is not available, the {@code DRBG}, because the “strong” source may block
+             */
+            @Override
+            EntropySource getFallbackSource() {
+                for (final Entropy fallback : new Entropy[] { URANDOM, DRBG }) {
+                    try {
+                        return fallback.getSource();
+                    } catch (final RuntimeException e) { }
+                }
+                return getSource();
+            }
+        },
+
+        /**
+         * The non-blocking {@code /dev/urandom} device, read via a long-lived channel (Linux and other Unix-like systems only)
+         */
+        URANDOM {
+            @Override
+            EntropySource createSource() throws IOException {
+                return new UrandomEntropySource();
+            }
+        },
+
+        /**
+         * The {@code DRBG} implementation of the JDK (Java 9 or later)
+         */
+        DRBG {
+            @Override
+            EntropySource createSource() throws GeneralSecurityException {
+                return SecureRandomEntropySource.drbg();
+            }
+        };
+
+        private EntropySource source;
+
+        private SeedHarvester harvester;
+
+        abstract EntropySource createSource() throws GeneralSecurityException, IOException;
+
+        /**
+         * Returns the non-blocking source that a seed is generated from on the caller's thread, when the pool of harvested seeds has run empty
+         */
+        EntropySource getFallbackSource() {
+            return getSource();
+        }
+
+        /**
+         * Returns the entropy source of this type, which is created on first use and is shared by all instances
+         */
+        synchronized EntropySource getSource() {
+            if (source == null) {
+                try {
+                    source = createSource();
+                } catch (final GeneralSecurityException | IOException e) {
+                    throw new RuntimeException("Failed to create the entropy source!", e);
+                }
+            }
+            return source;
+        }
+
+        /**
+         * Returns the harvester of this type, which keeps seeds from the entropy source ready in the background, so that a seed can be taken without waiting
+         */
+        synchronized SeedHarvester getHarvester() {
+            if (harvester == null) {
+                harvester = new SeedHarvester(getSource(), getFallbackSource(), KEY_SIZE);
+            }
+            return harvester;
+        }
+
+        /**
+         * Refresh the internal state of the entropy source of this type, if it has been created, and discard the seeds that have been harvested from it so far, if any
+         */
+        synchronized void reseedAndDiscard() {
+            if (source != null) {
+                source.reseed();
+            }
+            if (harvester != null) {
+                harvester.discard();
+            }
+        }
+    }
+
+    // ======================================================================
+    // Re-seed policy
+    // ======================================================================
+
+    /**
+     * Immutable policy that determines when an instance is re-seeded
+     * <p>
+     * An instance is re-seeded as soon as <i>any</i> of the limits is reached; the limits are checked only when the next block of output is generated, so an idle instance is re-seeded on its next use. The default policy re-seeds after every 257 blocks and has no byte or age limit. A byte limit <i>replaces</i> the default block limit, unless a block limit has been set explicitly.
+     */
+    public static final class ReseedPolicy {
+        private static final ReseedPolicy DEFAULT = new ReseedPolicy(RESEED_INTERVAL, Long.MAX_VALUE, 0L, false, false);
+
+        private final long maxBlocks, maxBytes, maxAge;
+
+        private final boolean deferred, explicitBlocks;
+
+        private ReseedPolicy(final long maxBlocks, final long maxBytes, final long maxAge, final boolean deferred, final boolean explicitBlocks) {
+            if ((maxBlocks < 1L) || (maxBytes < 1L) || (maxAge < 0L)) {
+                throw new IllegalArgumentException("Invalid re-seed limit!");
+            }
+            this.maxBlocks = maxBlocks;
+            this.maxBytes = maxBytes;
+            this.maxAge = maxAge;
+            this.deferred = deferred;
+            this.explicitBlocks = explicitBlocks;
+        }
+
+        public static ReseedPolicy defaults() {
+            return DEFAULT;
+        }
+
+        /**
+         * Returns a copy of this policy with the given maximum number of blocks (key changes) between two re-seeds
+         */
+        public ReseedPolicy maxBlocks(final long maxBlocks) {
+            return new ReseedPolicy(maxBlocks, maxBytes, maxAge, deferred, true);
+        }
+
+        /**
+         * Returns a copy of this policy with the given maximum number of output bytes between two re-seeds, or {@link Long#MAX_VALUE} for no limit
+         * <p>
+         * Unless a block limit has been set explicitly via {@link #maxBlocks(long)}, the byte limit replaces the default limit of 257 blocks, so it can be used to re-seed <i>less</i> often, too.
+         */
+        public ReseedPolicy maxBytes(final long maxBytes) {
+            return new ReseedPolicy(maxBlocks, maxBytes, maxAge, deferred, explicitBlocks);
+        }
+
+        /**
+         * Returns a copy of this policy with the given maximum time between two re-seeds, as measured by {@link System#nanoTime()}, or zero for no limit
+         */
+        public ReseedPolicy maxAge(final long duration, final TimeUnit unit) {
+            if (unit == null) {
+                throw new IllegalArgumentException("Time unit must not be null!");
+            }
+            return new ReseedPolicy(maxBlocks, maxBytes, unit.toNanos(duration), deferred, explicitBlocks);
+        }
+
+        /**
+         * Returns a copy of this policy with the given “deferred” flag; if set, a due re-seed is skipped, rather than waiting for a seed, and is retried with the next block
+         */
+        public ReseedPolicy deferred(final boolean deferred) {
+            return new ReseedPolicy(maxBlocks, maxBytes, maxAge, deferred, explicitBlocks);
+        }
+
+        /**
+         * Returns the effective block limit, i.e. {@link Long#MAX_VALUE} if the default block limit has been replaced by a byte limit
+         */
+        public long getMaxBlocks() {
+            return (explicitBlocks || (maxBytes == Long.MAX_VALUE)) ? maxBlocks : Long.MAX_VALUE;
+        }
+
+        public long getMaxBytes() {
+            return maxBytes;
+        }
+
+        public long getMaxAge(final TimeUnit unit) {
+            return unit.convert(maxAge, TimeUnit.NANOSECONDS);
+        }
+
+        public boolean isDeferred() {
+            return deferred;
+        }
+
+        private long getBlockLimit(final int batchSize) {
+            return Math.max(1L, Math.min(getMaxBlocks(), maxBytes / batchSize));
+        }
+
+        /**
+         * Create the default policy from the system properties; a property with an invalid value is ignored, with a warning
+         */
+        static ReseedPolicy fromProperties() {
+            final String maxBlocks = System.getProperty(PROPERTY_RESEED_BLOCKS);
+            return new ReseedPolicy(
+                    longProperty(PROPERTY_RESEED_BLOCKS, 1L, DEFAULT.maxBlocks),
+                    longProperty(PROPERTY_RESEED_BYTES, 1L, DEFAULT.maxBytes),
+                    TimeUnit.MILLISECONDS.toNanos(longProperty(PROPERTY_RESEED_AGE, 0L, 0L)),
+                    booleanProperty(PROPERTY_RESEED_DEFERRED, DEFAULT.deferred),
+                    (maxBlocks != null) && (!maxBlocks.trim().isEmpty()));
+        }
+    }
 
     // ======================================================================
-    // Key wrapper class
+    // Builder class
     // ======================================================================
 
-    private class KeyWrapper implements SecretKey {
-        @Override
-        public String getAlgorithm() {
-            return "AES";
+    public static final class Builder {
+        private Engine engine = DEFAULT_ENGINE;
+
+        private String provider = DEFAULT_PROVIDER;
+
+        private Entropy entropy = null;
+
+        private EntropySource entropySource = null;
+
+        private ReseedPolicy reseedPolicy = DEFAULT_RESEED_POLICY;
+
+        private boolean healthTests = DEFAULT_HEALTH_TESTS, fullPrecision = false;
+
+        private int batchSize = OUT_SIZE;
+
+        private Builder() { }
+
+        private Builder(final Builder other) {
+            engine = other.engine;
+            provider = other.provider;
+            entropy = other.entropy;
+            entropySource = other.entropySource;
+            reseedPolicy = other.reseedPolicy;
+            healthTests = other.healthTests;
+            fullPrecision = other.fullPrecision;
+            batchSize = other.batchSize;
+        }
+
+        public Builder engine(final Engine engine) {
+            if (engine == null) {
+                throw new IllegalArgumentException("Engine must not be null!");
+            }
+            this.engine = engine;
+            return this;
+        }
+
+        /**
+         * Select the JCA provider to be used by the {@link Engine#AES_JCA} engine
+         * 
+         * @param provider the name of the provider, or {@code "auto"} to select the fastest available provider by a short benchmark (performed once per JVM for each cipher mode, when that mode is first used), or {@code null} to use the first provider that supports AES
+         */
+        public Builder provider(final String provider) {
+            this.provider = ((provider != null) && (!provider.trim().isEmpty())) ? provider.trim() : null;
+            return this;
         }
 
-        @Override
-        public String getFormat() {
-            return "RAW";
+        /**
+         * Select the entropy source that this instance draws its seeds from <i>directly</i>, on the caller's thread
+         * <p>
+         * By default, the seeds are derived from the output of a “root” instance, which in turn draws from the default entropy source in the background. If the re-seed policy is “deferred”, the seeds are taken from a pool that is filled from the selected source in the background instead, because a direct read may block.
+         * 
+         * @param entropy the entropy source to be used, or {@code null} to use the default
+         */
+        public Builder entropy(final Entropy entropy) {
+            this.entropy = entropy;
+            this.entropySource = null;
+            return this;
         }
 
-        @Override
-        public byte[] getEncoded() {
-            return keyData;
+        Builder entropySource(final EntropySource entropySource) {
+            this.entropy = null;
+            this.entropySource = entropySource;
+            return this;
+        }
+
+        public Builder reseedPolicy(final ReseedPolicy reseedPolicy) {
+            if (reseedPolicy == null) {
+                throw new IllegalArgumentException("Re-seed policy must not be null!");
+            }
+            this.reseedPolicy = reseedPolicy;
+            return this;
+        }
+
+        /**
+         * Enable or disable the continuous health tests, i.e. the SP 800-90B “repetition count” and “adaptive proportion” tests on the seed material and a “stuck output” test on each block; enabled by default
+         * <p>
+         * The SP 800-90B tests are run on the raw output of the entropy source that this instance draws from directly, not on a seed that has been derived from it. An instance that derives its seeds from a “root” instance relies on the tests of the roots, which follow the default, i.e. the system property.
+         */
+        public Builder healthTests(final boolean healthTests) {
+            this.healthTests = healthTests;
+            return this;
+        }
+
+        /**
+         * Enable or disable the full-precision mode, in which {@code nextDouble()} can return <i>every</i> representable value in the range from 0.0 (inclusive) to 1.0 (exclusive), rather than only multiples of 2<sup>-53</sup>
+         * <p>
+         * This uses Downey's method, i.e. the exponent is chosen from a geometric distribution and the 52-bit mantissa is chosen uniformly, so it usually consumes two 64-bit words of the key stream per value instead of one.
+         */
+        public Builder fullPrecision(final boolean fullPrecision) {
+            this.fullPrecision = fullPrecision;
+            return this;
+        }
+
+        public Builder batchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public FastKeyErasureRNG build() {
+            return new FastKeyErasureRNG(this);
+        }
+
+        private EntropySource getEntropySource() {
+            final EntropySource source = (entropy != null) ? (reseedPolicy.deferred ? entropy.getHarvester() : entropy.getSource()) : entropySource;
+            return (healthTests && (source != null)) ? new HealthTestedEntropySource(source) : source;
         }
     }
 
@@ -137,11 +590,7 @@ public class FastKeyErasureRNG extends Random {
             throw new IllegalArgumentException("Invalid offset and/or length!");
         }
 
-        for (int copyCount, done = 0; done < length; done += copyCount) {
-            ensureBufferAvailable();
-            System.arraycopy(outData, nextPos, bytes, offset + done, copyCount = Math.min(OUT_SIZE - nextPos, length - done));
-            Arrays.fill(outData, nextPos, nextPos += copyCount, (byte)0);
-        }
+        fillArray(bytes, offset, length);
     }
 
     @Override
@@ -149,119 +598,1294 @@ public class FastKeyErasureRNG extends Random {
         nextBytes(bytes, 0, (bytes != null) ? bytes.length : 0);
     }
 
-    public UUID nextUuid() {
-        return new UUID(nextLong(), nextLong());
-    }
-
-    @Override
-    public void setSeed(final long seed) {
-        if (seed != 0) {
-            setSeed(longToByteArray(seed));
-            nextPos = OUT_SIZE;
+    /**
+     * Fill the remaining bytes of the given buffer, i.e. from its current position up to its limit, with random bytes
+     * <p>
+     * Heap buffers are filled in the same way as arrays, direct buffers are filled straight from the internal buffer. Upon return, the position of the buffer is equal to its limit.
+     * 
+     * @param buffer the buffer to be filled, which may be a heap buffer or a direct buffer
+     */
+    public void nextBytes(final ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Output buffer must not be null!");
+        }
+        if (buffer.isReadOnly()) {
+            throw new IllegalArgumentException("Output buffer must not be read-only!");
         }
-    }
 
-    public void reseed() {
-        doReseed();
-        nextPos = OUT_SIZE;
+        fillBuffer(buffer);
     }
 
-    // ======================================================================
-    // Protected methods
-    // ======================================================================
-
-    @Override
-    protected int next(final int numBits) {
-        final int numBytes = (numBits + 7) / 8;
-        int value = 0;
-        for (int i = 0; i < numBytes; ++i) {
-            ensureBufferAvailable();
-            value = (value << 8) + (outData[nextPos] & 0xFF);
-            outData[nextPos++] = (byte)0; 
+    /**
+     * Fill each of the given arrays completely with random bytes, in a single pass over the key stream
+     * 
+     * @param arrays the arrays to be filled, e.g. a large number of nonces
+     */
+    public void nextBytes(final byte[][] arrays) {
+        if (arrays == null) {
+            throw new IllegalArgumentException("Output arrays must not be null!");
+        }
+        for (final byte[] bytes : arrays) {
+            if (bytes == null) {
+                throw new IllegalArgumentException("Output array must not be null!");
+            }
         }
-        return value >>> ((numBytes * 8) - numBits);
-    }
-
-    // ======================================================================
-    // Internal methods
-    // ======================================================================
 
-    private void ensureBufferAvailable() {
-        if (nextPos >= OUT_SIZE) {
-            nextBlock();
-            nextPos = 0;
+        for (final byte[] bytes : arrays) {
+            fillArray(bytes, 0, bytes.length);
         }
     }
 
-    protected void nextBlock() {
-        if (++reseedCounter >= RESEED_INTERVAL) {
-            doReseed();
+    /**
+     * Fill the remaining bytes of each of the given buffers with random bytes, in a single pass over the key stream
+     * 
+     * @param buffers the buffers to be filled, which may be heap buffers or direct buffers
+     */
+    public void nextBytes(final ByteBuffer[] buffers) {
+        if (buffers == null) {
+            throw new IllegalArgumentException("Output buffers must not be null!");
+        }
+        for (final ByteBuffer buffer : buffers) {
+            if (buffer == null) {
+                throw new IllegalArgumentException("Output buffer must not be null!");
+            }
+            if (buffer.isReadOnly()) {
+                throw new IllegalArgumentException("Output buffer must not be read-only!");
+            }
         }
 
-        try {
-            cipher.update(PLAINTEXT_K, 0, KEY_SIZE, keyData);
-            cipher.update(PLAINTEXT_V, 0, OUT_SIZE, outData);
-            emplaceKey();
-        } catch (final GeneralSecurityException e) {
-            throw new RuntimeException("Failed to update CRNG state!", e);
+        for (final ByteBuffer buffer : buffers) {
+            fillBuffer(buffer);
         }
     }
 
-    private final void doReseed() {
-        setSeed(strongRandom.generateSeed(KEY_SIZE));
-        reseedCounter = 0;
+    @Override
+    public int nextInt() {
+        return readInt();
     }
 
-    protected void setSeed(final byte[] seed) {
-        assert (seed != null) && (seed.length > 0) && (seed.length <= KEY_SIZE);
-        try {
-            for (int i = 0; i < 2; ++i) {
-                cipher.update(PLAINTEXT_K, 0, KEY_SIZE, keyData);
-                xorBytes(keyData, seed);
-                emplaceKey();
-            }
-        } catch (final GeneralSecurityException e) {
-            throw new RuntimeException("Failed to re-seed the cipher!", e);
-        } finally {
-            Arrays.fill(seed, (byte)0);
-        }
+    @Override
+    public long nextLong() {
+        return readLong();
     }
 
-    private void emplaceKey() throws KeyException {
-        try {
-            cipher.init(Cipher.ENCRYPT_MODE, wrappedKey);
-        } finally {
-            Arrays.fill(keyData, (byte)0);
+    /**
+     * Returns a uniformly distributed value in the range from 0 (inclusive) to {@code bound} (exclusive); only as many bytes of the key stream as the range needs are consumed
+     */
+    @Override
+    public int nextInt(final int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive!");
         }
+        return internalNextInt(0, bound);
     }
 
-    private void writeObject(ObjectOutputStream out) throws IOException {
-        throw new NotSerializableException();
+    /**
+     * Returns a uniformly distributed value in the range from {@code origin} (inclusive) to {@code bound} (exclusive); only as many bytes of the key stream as the range needs are consumed
+     */
+    public int nextInt(final int origin, final int bound) {
+        checkRange(origin, bound);
+        return internalNextInt(origin, bound);
     }
 
-    private static void xorBytes(final byte[] target, final byte[] source) {
-        assert (target != null) && (source != null) && (target.length >= source.length);
-        for (int pos = 0; pos < source.length; ++pos) {
-            target[pos] ^= source[pos];
+    /**
+     * Returns a uniformly distributed value in the range from 0 (inclusive) to {@code bound} (exclusive); only as many bytes of the key stream as the range needs are consumed
+     */
+    public long nextLong(final long bound) {
+        if (bound <= 0L) {
+            throw new IllegalArgumentException("Bound must be positive!");
         }
+        return internalNextLong(0L, bound);
     }
 
-    private static byte[] longToByteArray(long value) {
-        final byte[] result = new byte[Long.BYTES];
-        for (int pos = Long.BYTES - 1; pos >= 0; --pos, value >>= Byte.SIZE) {
-            result[pos] = (byte) (value & 0xffL);
-        }
-        return result;
+    /**
+     * Returns a uniformly distributed value in the range from {@code origin} (inclusive) to {@code bound} (exclusive); only as many bytes of the key stream as the range needs are consumed
+     */
+    public long nextLong(final long origin, final long bound) {
+        checkRange(origin, bound);
+        return internalNextLong(origin, bound);
     }
 
-    // ======================================================================
-    // Factory methods
-    // ======================================================================
+    /**
+     * Returns a random boolean value, which is served from the bit reservoir, so that a 64-bit word of the key stream provides 64 values
+     */
+    @Override
+    public boolean nextBoolean() {
+        return readBits(1) != 0;
+    }
 
-    private static final ThreadLocal<FastKeyErasureRNG> INSTANCES = ThreadLocal.withInitial(FastKeyErasureRNG::new);
+    @Override
+    public float nextFloat() {
+        return (readInt() >>> 8) * FLOAT_UNIT;
+    }
+
+    /**
+     * Returns a random value in the range from {@code origin} (inclusive) to {@code bound} (exclusive), converted from a single 32-bit word of the key stream
+     */
+    public float nextFloat(final float origin, final float bound) {
+        checkRange(origin, bound);
+        return internalNextFloat(origin, bound);
+    }
+
+    public float nextFloat(final float bound) {
+        return nextFloat(0.0f, bound);
+    }
+
+    /**
+     * Returns a random value in the range from 0.0 (inclusive) to 1.0 (exclusive), converted from a single 64-bit word of the key stream, unless the full-precision mode is enabled
+     */
+    @Override
+    public double nextDouble() {
+        return readDouble();
+    }
+
+    /**
+     * Returns a random value in the range from {@code origin} (inclusive) to {@code bound} (exclusive), converted from a single 64-bit word of the key stream, unless the full-precision mode is enabled
+     */
+    public double nextDouble(final double origin, final double bound) {
+        checkRange(origin, bound);
+        return internalNextDouble(origin, bound);
+    }
+
+    public double nextDouble(final double bound) {
+        return nextDouble(0.0, bound);
+    }
+
+    /**
+     * Returns a normally distributed value with a mean of 0.0 and a standard deviation of 1.0, using the Ziggurat method
+     * <p>
+     * Unlike {@link Random#nextGaussian()}, this method is <i>not</i> synchronized and does not cache a second value; usually, a single 64-bit word of the key stream is consumed.
+     */
+    @Override
+    public double nextGaussian() {
+        return Ziggurat.nextGaussian(this);
+    }
+
+    public double nextGaussian(final double mean, final double stddev) {
+        checkDeviation(stddev);
+        return mean + stddev * Ziggurat.nextGaussian(this);
+    }
+
+    /**
+     * Returns an exponentially distributed value with a mean of 1.0, using the Ziggurat method
+     */
+    public double nextExponential() {
+        return Ziggurat.nextExponential(this);
+    }
+
+    // ----------------------------------------------------------------------
+    // Bulk array fills
+    // ----------------------------------------------------------------------
+
+    /**
+     * Fill the given range of the array with random values; whole runs of words are decoded straight from the key stream buffer into the array
+     */
+    public void nextInts(final int[] array, final int offset, final int length) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        for (int done = 0; done < length; ) {
+            ensureBufferAvailable();
+            final int count = Math.min((batchSize - nextPos) / Integer.BYTES, length - done);
+            if (count < 1) {
+                array[offset + done++] = readInt();
+                continue;
+            }
+            for (int i = offset + done, end = i + count, pos = nextPos; i < end; ++i, pos += Integer.BYTES) {
+                array[i] = outView.getInt(pos);
+            }
+            Arrays.fill(outData, nextPos, nextPos += count * Integer.BYTES, (byte)0);
+            done += count;
+        }
+    }
+
+    public void nextInts(final int[] array) {
+        nextInts(array, 0, (array != null) ? array.length : 0);
+    }
+
+    /**
+     * Fill the given range of the array with random values in the range from {@code origin} (inclusive) to {@code bound} (exclusive)
+     */
+    public void nextInts(final int[] array, final int offset, final int length, final int origin, final int bound) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        checkRange(origin, bound);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = internalNextInt(origin, bound);
+        }
+    }
+
+    /**
+     * Fill the given range of the array with random values; whole runs of words are decoded straight from the key stream buffer into the array
+     */
+    public void nextLongs(final long[] array, final int offset, final int length) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        for (int done = 0; done < length; ) {
+            ensureBufferAvailable();
+            final int count = Math.min((batchSize - nextPos) / Long.BYTES, length - done);
+            if (count < 1) {
+                array[offset + done++] = readLong();
+                continue;
+            }
+            for (int i = offset + done, end = i + count, pos = nextPos; i < end; ++i, pos += Long.BYTES) {
+                array[i] = outView.getLong(pos);
+            }
+            Arrays.fill(outData, nextPos, nextPos += count * Long.BYTES, (byte)0);
+            done += count;
+        }
+    }
+
+    public void nextLongs(final long[] array) {
+        nextLongs(array, 0, (array != null) ? array.length : 0);
+    }
+
+    /**
+     * Fill the given range of the array with random values in the range from {@code origin} (inclusive) to {@code bound} (exclusive)
+     */
+    public void nextLongs(final long[] array, final int offset, final int length, final long origin, final long bound) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        checkRange(origin, bound);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = internalNextLong(origin, bound);
+        }
+    }
+
+    /**
+     * Fill the given range of the array with random values in the range from 0.0 (inclusive) to 1.0 (exclusive); whole runs of words are decoded straight from the key stream buffer into the array
+     */
+    public void nextDoubles(final double[] array, final int offset, final int length) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        if (fullPrecision) {
+            for (int i = offset, end = offset + length; i < end; ++i) {
+                array[i] = readDouble();
+            }
+            return;
+        }
+        for (int done = 0; done < length; ) {
+            ensureBufferAvailable();
+            final int count = Math.min((batchSize - nextPos) / Long.BYTES, length - done);
+            if (count < 1) {
+                array[offset + done++] = (readLong() >>> 11) * DOUBLE_UNIT;
+                continue;
+            }
+            for (int i = offset + done, end = i + count, pos = nextPos; i < end; ++i, pos += Long.BYTES) {
+                array[i] = (outView.getLong(pos) >>> 11) * DOUBLE_UNIT;
+            }
+            Arrays.fill(outData, nextPos, nextPos += count * Long.BYTES, (byte)0);
+            done += count;
+        }
+    }
+
+    public void nextDoubles(final double[] array) {
+        nextDoubles(array, 0, (array != null) ? array.length : 0);
+    }
+
+    /**
+     * Fill the given range of the array with random values in the range from {@code origin} (inclusive) to {@code bound} (exclusive)
+     */
+    public void nextDoubles(final double[] array, final int offset, final int length, final double origin, final double bound) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        checkRange(origin, bound);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = internalNextDouble(origin, bound);
+        }
+    }
+
+    /**
+     * Fill the given range of the array with random values in the range from 0.0 (inclusive) to 1.0 (exclusive); whole runs of words are decoded straight from the key stream buffer into the array
+     */
+    public void nextFloats(final float[] array, final int offset, final int length) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        for (int done = 0; done < length; ) {
+            ensureBufferAvailable();
+            final int count = Math.min((batchSize - nextPos) / Integer.BYTES, length - done);
+            if (count < 1) {
+                array[offset + done++] = (readInt() >>> 8) * FLOAT_UNIT;
+                continue;
+            }
+            for (int i = offset + done, end = i + count, pos = nextPos; i < end; ++i, pos += Integer.BYTES) {
+                array[i] = (outView.getInt(pos) >>> 8) * FLOAT_UNIT;
+            }
+            Arrays.fill(outData, nextPos, nextPos += count * Integer.BYTES, (byte)0);
+            done += count;
+        }
+    }
+
+    public void nextFloats(final float[] array) {
+        nextFloats(array, 0, (array != null) ? array.length : 0);
+    }
+
+    /**
+     * Fill the given range of the array with random values in the range from {@code origin} (inclusive) to {@code bound} (exclusive)
+     */
+    public void nextFloats(final float[] array, final int offset, final int length, final float origin, final float bound) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        checkRange(origin, bound);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = internalNextFloat(origin, bound);
+        }
+    }
+
+    /**
+     * Fill the given range of the array with normally distributed values with a mean of 0.0 and a standard deviation of 1.0
+     */
+    public void nextGaussians(final double[] array, final int offset, final int length) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = Ziggurat.nextGaussian(this);
+        }
+    }
+
+    public void nextGaussians(final double[] array) {
+        nextGaussians(array, 0, (array != null) ? array.length : 0);
+    }
+
+    /**
+     * Fill the given range of the array with normally distributed values with the given mean and standard deviation
+     */
+    public void nextGaussians(final double[] array, final int offset, final int length, final double mean, final double stddev) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        checkDeviation(stddev);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = mean + stddev * Ziggurat.nextGaussian(this);
+        }
+    }
+
+    /**
+     * Fill the given range of the array with exponentially distributed values with a mean of 1.0
+     */
+    public void nextExponentials(final double[] array, final int offset, final int length) {
+        checkArray((array != null) ? array.length : -1, offset, length);
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            array[i] = Ziggurat.nextExponential(this);
+        }
+    }
+
+    public void nextExponentials(final double[] array) {
+        nextExponentials(array, 0, (array != null) ? array.length : 0);
+    }
+
+    // ----------------------------------------------------------------------
+    // Streams
+    // ----------------------------------------------------------------------
+
+    @Override
+    public IntStream ints(final long streamSize) {
+        checkStreamSize(streamSize);
+        return StreamSupport.intStream(new RandomSpliterators.IntSpliterator(this, 0L, streamSize, Integer.MAX_VALUE, 0), false);
+    }
+
+    @Override
+    public IntStream ints() {
+        return ints(Long.MAX_VALUE);
+    }
+
+    @Override
+    public IntStream ints(final long streamSize, final int randomNumberOrigin, final int randomNumberBound) {
+        checkStreamSize(streamSize);
+        checkRange(randomNumberOrigin, randomNumberBound);
+        return StreamSupport.intStream(new RandomSpliterators.IntSpliterator(this, 0L, streamSize, randomNumberOrigin, randomNumberBound), false);
+    }
+
+    @Override
+    public IntStream ints(final int randomNumberOrigin, final int randomNumberBound) {
+        return ints(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public LongStream longs(final long streamSize) {
+        checkStreamSize(streamSize);
+        return StreamSupport.longStream(new RandomSpliterators.LongSpliterator(this, 0L, streamSize, Long.MAX_VALUE, 0L), false);
+    }
+
+    @Override
+    public LongStream longs() {
+        return longs(Long.MAX_VALUE);
+    }
+
+    @Override
+    public LongStream longs(final long streamSize, final long randomNumberOrigin, final long randomNumberBound) {
+        checkStreamSize(streamSize);
+        checkRange(randomNumberOrigin, randomNumberBound);
+        return StreamSupport.longStream(new RandomSpliterators.LongSpliterator(this, 0L, streamSize, randomNumberOrigin, randomNumberBound), false);
+    }
+
+    @Override
+    public LongStream longs(final long randomNumberOrigin, final long randomNumberBound) {
+        return longs(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound);
+    }
+
+    @Override
+    public DoubleStream doubles(final long streamSize) {
+        checkStreamSize(streamSize);
+        return StreamSupport.doubleStream(new RandomSpliterators.DoubleSpliterator(this, 0L, streamSize, Double.MAX_VALUE, 0.0), false);
+    }
+
+    @Override
+    public DoubleStream doubles() {
+        return doubles(Long.MAX_VALUE);
+    }
+
+    @Override
+    public DoubleStream doubles(final long streamSize, final double randomNumberOrigin, final double randomNumberBound) {
+        checkStreamSize(streamSize);
+        checkRange(randomNumberOrigin, randomNumberBound);
+        return StreamSupport.doubleStream(new RandomSpliterators.DoubleSpliterator(this, 0L, streamSize, randomNumberOrigin, randomNumberBound), false);
+    }
+
+    @Override
+    public DoubleStream doubles(final double randomNumberOrigin, final double randomNumberBound) {
+        return doubles(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound);
+    }
+
+    // ----------------------------------------------------------------------
+    // Permutations
+    // ----------------------------------------------------------------------
+
+    /**
+     * Shuffle the given array in-place, using the Fisher–Yates algorithm; the swap targets of several consecutive steps are drawn from a single 64-bit word of the key stream
+     */
+    public void shuffle(final int[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array must not be null!");
+        }
+        final int[] indices = new int[SWAP_BATCH];
+        for (int i = array.length; i > 1; ) {
+            for (int j = 0, count = nextSwapIndices(i, indices); j < count; ++j) {
+                final int target = indices[j], value = array[--i];
+                array[i] = array[target];
+                array[target] = value;
+            }
+        }
+    }
+
+    public void shuffle(final long[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array must not be null!");
+        }
+        final int[] indices = new int[SWAP_BATCH];
+        for (int i = array.length; i > 1; ) {
+            for (int j = 0, count = nextSwapIndices(i, indices); j < count; ++j) {
+                final int target = indices[j];
+                final long value = array[--i];
+                array[i] = array[target];
+                array[target] = value;
+            }
+        }
+    }
+
+    public void shuffle(final Object[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array must not be null!");
+        }
+        final int[] indices = new int[SWAP_BATCH];
+        for (int i = array.length; i > 1; ) {
+            for (int j = 0, count = nextSwapIndices(i, indices); j < count; ++j) {
+                final int target = indices[j];
+                final Object value = array[--i];
+                array[i] = array[target];
+                array[target] = value;
+            }
+        }
+    }
+
+    /**
+     * Shuffle the given list in-place; a list that does <i>not</i> support random access is copied into an array, shuffled and written back, like {@link java.util.Collections#shuffle(List, Random)} does
+     */
+    @SuppressWarnings("unchecked")
+    public void shuffle(final List<?> list) {
+        if (list == null) {
+            throw new IllegalArgumentException("List must not be null!");
+        }
+        if (list instanceof RandomAccess) {
+            final List<Object> elements = (List<Object>) list;
+            final int[] indices = new int[SWAP_BATCH];
+            for (int i = elements.size(); i > 1; ) {
+                for (int j = 0, count = nextSwapIndices(i, indices); j < count; ++j) {
+                    --i;
+                    elements.set(i, elements.set(indices[j], elements.get(i)));
+                }
+            }
+        } else {
+            final Object[] array = list.toArray();
+            shuffle(array);
+            final ListIterator<Object> iterator = ((List<Object>) list).listIterator();
+            for (final Object element : array) {
+                iterator.next();
+                iterator.set(element);
+            }
+        }
+    }
+
+    /**
+     * Returns a random permutation of the values from 0 (inclusive) to {@code size} (exclusive)
+     */
+    public int[] permutation(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be a non-negative value!");
+        }
+        final int[] result = new int[size];
+        for (int i = 0; i < size; ++i) {
+            result[i] = i;
+        }
+        shuffle(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code count} distinct random values from the range 0 (inclusive) to {@code size} (exclusive), in random order
+     * <p>
+     * If {@code count} is small compared to {@code size}, Floyd's algorithm is used, which requires only O(count) memory. Otherwise, the first {@code count} steps of the Fisher–Yates algorithm are applied to the identity permutation.
+     */
+    public int[] sample(final int count, final int size) {
+        if ((size < 0) || (count < 0) || (count > size)) {
+            throw new IllegalArgumentException("Count must be in the range from 0 to size!");
+        }
+        if (count <= (size / FLOYD_RATIO)) {
+            final int[] result = sampleFloyd(count, size);
+            shuffle(result);
+            return result;
+        }
+        final int[] values = new int[size], indices = new int[SWAP_BATCH];
+        for (int i = 0; i < size; ++i) {
+            values[i] = i;
+        }
+        for (int i = 0, steps = Math.min(count, size - 1); i < steps; ) {
+            for (int j = 0, batch = nextSwapIndices(size - i, indices); (j < batch) && (i < steps); ++j, ++i) {
+                final int target = i + indices[j], value = values[i];
+                values[i] = values[target];
+                values[target] = value;
+            }
+        }
+        return (count < size) ? Arrays.copyOf(values, count) : values;
+    }
+
+    // ----------------------------------------------------------------------
+    // Other types
+    // ----------------------------------------------------------------------
+
+    public UUID nextUuid() {
+        return new UUID(nextLong(), nextLong());
+    }
+
+    @Override
+    public void setSeed(final long seed) {
+        if (seed != 0) {
+            setSeed(longToByteArray(seed));
+            discardBuffer();
+        }
+    }
+
+    /**
+     * Add the given value to the entropy pool of this instance
+     * <p>
+     * This is an O(1) operation that does <i>not</i> allocate any memory, so it can be used on hot paths, e.g. to contribute packet timings or request IDs. The accumulated entropy is mixed into the key when the next block is generated, or at the next re-seed, whichever comes first; output that has already been buffered is not affected.
+     */
+    public void addEntropy(final long value) {
+        final int index = entropyPos;
+        entropyPool[index] = Long.rotateLeft(entropyPool[index], 23) ^ value;
+        entropyPos = (index + 1) & (entropyPool.length - 1);
+        entropyPending = true;
+    }
+
+    public void addEntropy(final byte[] data, final int offset, final int length) {
+        if (data == null) {
+            throw new IllegalArgumentException("Input array must not be null!");
+        }
+        if ((offset < 0) || (length < 0) || (offset > data.length) || (data.length - offset < length)) {
+            throw new IllegalArgumentException("Invalid offset and/or length!");
+        }
+
+        final int end = offset + length;
+        for (int pos = offset; pos < end; ) {
+            long value = 0L;
+            for (final int limit = Math.min(pos + Long.BYTES, end); pos < limit; ++pos) {
+                value = (value << 8) | (data[pos] & 0xFF);
+            }
+            addEntropy(value);
+        }
+    }
+
+    public void addEntropy(final byte[] data) {
+        addEntropy(data, 0, (data != null) ? data.length : 0);
+    }
+
+    public void reseed() {
+        reseedPending = !doReseed(false);
+        discardBuffer();
+    }
+
+    /**
+     * Force <i>all</i> instances to re-seed, e.g. after a VM snapshot or a container checkpoint has been restored
+     * <p>
+     * Every instance compares the global re-seed epoch before it hands out buffered output, so each instance discards its buffer and is re-seeded once, on its next use, from a freshly generated seed. Seeds that have been harvested in the background are discarded too, and an entropy source with an internal state, such as the {@link Entropy#DRBG}, is re-instantiated from the platform's entropy source first.
+     * <p>
+     * Note that this relies on the platform's entropy source to diverge between the clones of a snapshot, and that output produced <i>before</i> this method is called may still be the same in all clones.
+     */
+    public static void reseedAll() {
+        for (final Entropy entropy : Entropy.values()) {
+            entropy.reseedAndDiscard();
+        }
+        globalEpoch.incrementAndGet();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public ReseedPolicy getReseedPolicy() {
+        return reseedPolicy;
+    }
+
+    public boolean isHealthTestsEnabled() {
+        return (healthMonitor != null);
+    }
+
+    public boolean isFullPrecision() {
+        return fullPrecision;
+    }
+
+    // ======================================================================
+    // Protected methods
+    // ======================================================================
+
+    @Override
+    protected int next(final int numBits) {
+        if (numBits < Byte.SIZE) {
+            return readBits(numBits);
+        }
+        final int numBytes = (numBits + 7) / 8;
+        int value = 0;
+        for (int i = 0; i < numBytes; ++i) {
+            ensureBufferAvailable();
+            value = (value << 8) + (outData[nextPos] & 0xFF);
+            outData[nextPos++] = (byte)0; 
+        }
+        return value >>> ((numBytes * 8) - numBits);
+    }
+
+    // ======================================================================
+    // Package-private methods
+    // ======================================================================
+
+    /**
+     * Create a new, independently seeded instance with the same configuration as this instance
+     */
+    FastKeyErasureRNG split() {
+        return new FastKeyErasureRNG(config);
+    }
+
+    /**
+     * Returns the given number of bits (less than 8) from the bit reservoir, as an unsigned value
+     */
+    int internalNextBits(final int numBits) {
+        return readBits(numBits);
+    }
+
+    /**
+     * Returns a uniformly distributed value in the range from {@code origin} (inclusive) to {@code bound} (exclusive), or an unrestricted value if {@code origin >= bound}
+     */
+    int internalNextInt(final int origin, final int bound) {
+        if (origin >= bound) {
+            return readInt();
+        }
+        return origin + (int) nextBounded((long)bound - origin);
+    }
+
+    /**
+     * Returns a uniformly distributed value in the range from {@code origin} (inclusive) to {@code bound} (exclusive), or an unrestricted value if {@code origin >= bound}
+     */
+    long internalNextLong(final long origin, final long bound) {
+        if (origin >= bound) {
+            return readLong();
+        }
+        return origin + nextBounded(bound - origin);
+    }
+
+    /**
+     * Returns a uniformly distributed value in the range from {@code origin} (inclusive) to {@code bound} (exclusive), or a value in the range from 0.0 (inclusive) to 1.0 (exclusive) if {@code origin >= bound}
+     */
+    double internalNextDouble(final double origin, final double bound) {
+        double value = readDouble();
+        if (origin < bound) {
+            value = value * (bound - origin) + origin;
+            if (value >= bound) {
+                value = Math.nextDown(bound);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Returns a uniformly distributed value in the range from {@code origin} (inclusive) to {@code bound} (exclusive), or a value in the range from 0.0 (inclusive) to 1.0 (exclusive) if {@code origin >= bound}
+     */
+    float internalNextFloat(final float origin, final float bound) {
+        float value = (readInt() >>> 8) * FLOAT_UNIT;
+        if (origin < bound) {
+            value = value * (bound - origin) + origin;
+            if (value >= bound) {
+                value = Math.nextDown(bound);
+            }
+        }
+        return value;
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void fillArray(final byte[] bytes, final int offset, final int length) {
+        final boolean direct = (length >= DIRECT_THRESHOLD);
+        for (int copyCount, done = 0; done < length; done += copyCount) {
+            if (direct && (nextPos >= batchSize) && (length - done >= batchSize)) {
+                blockOutput = bytes;
+                blockOffset = offset + done;
+                try {
+                    nextBlock();
+                } finally {
+                    blockOutput = outData;
+                    blockOffset = 0;
+                }
+                copyCount = batchSize;
+                continue;
+            }
+            ensureBufferAvailable();
+            System.arraycopy(outData, nextPos, bytes, offset + done, copyCount = Math.min(batchSize - nextPos, length - done));
+            Arrays.fill(outData, nextPos, nextPos += copyCount, (byte)0);
+        }
+    }
+
+    private void fillBuffer(final ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            final int length = buffer.remaining();
+            fillArray(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            ((Buffer)buffer).position(buffer.position() + length);
+            return;
+        }
+
+        for (int copyCount; buffer.hasRemaining(); ) {
+            ensureBufferAvailable();
+            buffer.put(outData, nextPos, copyCount = Math.min(batchSize - nextPos, buffer.remaining()));
+            Arrays.fill(outData, nextPos, nextPos += copyCount, (byte)0);
+        }
+    }
+
+    /**
+     * Read the next 32-bit word from the buffer with a single (big-endian) load, unless the word crosses a block boundary
+     */
+    private int readInt() {
+        ensureBufferAvailable();
+        if (batchSize - nextPos >= Integer.BYTES) {
+            final int value = outView.getInt(nextPos);
+            outView.putInt(nextPos, 0);
+            nextPos += Integer.BYTES;
+            return value;
+        }
+        return (int) readBytes(Integer.BYTES);
+    }
+
+    /**
+     * Read the next 64-bit word from the buffer with a single (big-endian) load, unless the word crosses a block boundary
+     */
+    private long readLong() {
+        ensureBufferAvailable();
+        if (batchSize - nextPos >= Long.BYTES) {
+            final long value = outView.getLong(nextPos);
+            outView.putLong(nextPos, 0L);
+            nextPos += Long.BYTES;
+            return value;
+        }
+        return readBytes(Long.BYTES);
+    }
+
+    /**
+     * Returns a uniformly distributed value in the range from 0 (inclusive) to {@code range} (exclusive, unsigned), using Lemire's multiply-shift method
+     * <p>
+     * Only the smallest number of whole bytes that can represent {@code range - 1} is drawn from the key stream per attempt. A sample is rejected only if it falls into the
+     * biased fraction of the product, so the (costly) modulo is computed at most once per call and only when rejection is possible at all.
+     */
+    private long nextBounded(final long range) {
+        final int numBits = Long.SIZE - Long.numberOfLeadingZeros(range - 1L);
+        if (numBits == 0) {
+            return 0L; /* range is 1 */
+        }
+        final int numBytes = (numBits + 7) / 8;
+        if ((range & (range - 1L)) == 0L) {
+            return readUnsigned(numBytes) & (range - 1L);
+        }
+        final int shift = numBytes * 8;
+        final long fractionMask = (shift < Long.SIZE) ? (1L << shift) - 1L : -1L;
+        long sample = readUnsigned(numBytes), product = sample * range, fraction = product & fractionMask;
+        if (Long.compareUnsigned(fraction, range) < 0) {
+            final long threshold = (shift < Long.SIZE) ? (fractionMask + 1L - range) % range : Long.remainderUnsigned(-range, range);
+            while (Long.compareUnsigned(fraction, threshold) < 0) {
+                sample = readUnsigned(numBytes);
+                fraction = (product = sample * range) & fractionMask;
+            }
+        }
+        if (shift < Long.SIZE) {
+            return (multiplyHighUnsigned(sample, range) << (Long.SIZE - shift)) | (product >>> shift);
+        }
+        return multiplyHighUnsigned(sample, range);
+    }
+
+    private double readDouble() {
+        return fullPrecision ? readDoubleFullPrecision() : (readLong() >>> 11) * DOUBLE_UNIT;
+    }
+
+    /**
+     * Read a value in the range from 0.0 (inclusive) to 1.0 (exclusive), where every representable value may occur, using Downey's method
+     * <p>
+     * The exponent follows a geometric distribution, derived from the number of trailing zero bits of the key stream, and the 52-bit mantissa is uniform. Hence, each value is returned with a probability equal to its distance to the next representable value. Values below 2<sup>-1022</sup> are subnormal and evenly spaced.
+     */
+    private double readDoubleFullPrecision() {
+        int exponent = Double.MAX_EXPONENT - 1;
+        long bits;
+        while (((bits = readLong()) == 0L) && (exponent > 0)) {
+            exponent -= Long.SIZE;
+        }
+        exponent = Math.max(exponent - Long.numberOfTrailingZeros(bits), 0);
+        return Double.longBitsToDouble(((long)exponent << 52) | (readLong() >>> 12));
+    }
+
+    /**
+     * Draw the swap targets for consecutive Fisher–Yates steps, i.e. {@code indices[j]} is uniformly distributed in the range from 0 (inclusive) to {@code bound - j} (exclusive)
+     * <p>
+     * As many steps as the product of their bounds fits into 64 bits (at most {@link #SWAP_BATCH}) are served from a <i>single</i> 64-bit word, using the batched variant of Lemire's method by Brackett-Rozinsky and Lemire; the whole batch is rejected only if the final fraction falls into the biased part.
+     * 
+     * @return the number of steps that have been drawn, which is at least 1 if {@code bound >= 2}
+     */
+    private int nextSwapIndices(final int bound, final int[] indices) {
+        int count = 0;
+        long product = 1L;
+        while ((count < indices.length) && (bound - count > 1) && (product <= Long.MAX_VALUE / (bound - count))) {
+            product *= bound - count++;
+        }
+        long threshold = -1L;
+        for (;;) {
+            long fraction = readLong();
+            for (int j = 0; j < count; ++j) {
+                indices[j] = (int) multiplyHighUnsigned(fraction, bound - j);
+                fraction *= bound - j;
+            }
+            if (Long.compareUnsigned(fraction, product) >= 0) {
+                return count;
+            }
+            if (threshold < 0L) {
+                threshold = Long.remainderUnsigned(-product, product);
+            }
+            if (Long.compareUnsigned(fraction, threshold) >= 0) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Floyd's algorithm, which tracks the values that have already been chosen in a small open-addressing hash set
+     */
+    private int[] sampleFloyd(final int count, final int size) {
+        final int[] result = new int[count];
+        final int[] table = new int[Math.max(Integer.highestOneBit(Math.max(count, 1)) << 2, 4)];
+        final int shift = Integer.numberOfLeadingZeros(table.length) + 1;
+        for (int i = 0, j = size - count; j < size; ++i, ++j) {
+            final int candidate = (int) nextBounded(j + 1L);
+            final int value = insertValue(table, shift, candidate) ? candidate : j;
+            if (value == j) {
+                insertValue(table, shift, j);
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Insert the given value into the hash set, using Fibonacci hashing and linear probing; the values are stored with an offset of 1, so that 0 denotes an empty slot
+     * 
+     * @return {@code true}, if the value was inserted, or {@code false}, if it was already present
+     */
+    private static boolean insertValue(final int[] table, final int shift, final int value) {
+        final int mask = table.length - 1;
+        for (int pos = (value * 0x9E3779B9) >>> shift; ; pos = (pos + 1) & mask) {
+            if (table[pos] == 0) {
+                table[pos] = value + 1;
+                return true;
+            }
+            if (table[pos] == value + 1) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Read the given number of bytes (at most 8) from the buffer, as an unsigned big-endian value
+     */
+    private long readUnsigned(final int numBytes) {
+        switch (numBytes) {
+            case Long.BYTES: return readLong();
+            case Integer.BYTES: return readInt() & 0xFFFFFFFFL;
+            default: return readBytes(numBytes);
+        }
+    }
+
+    /**
+     * Read the given number of bits (less than 8) from the bit reservoir; the reservoir is refilled with a 64-bit word from the key stream once it runs out
+     * <p>
+     * Consumed bits are shifted out of the reservoir, so that no bit is ever handed out twice or retained after use. Any bits that are too few to serve a request are dropped.
+     */
+    private int readBits(final int numBits) {
+        if ((bitCount < numBits) || (reseedEpoch != globalEpoch.get())) {
+            bitPool = readLong();
+            bitCount = Long.SIZE;
+        }
+        final int value = (int) bitPool & ((1 << numBits) - 1);
+        bitPool >>>= numBits;
+        bitCount -= numBits;
+        return value;
+    }
+
+    private long readBytes(final int numBytes) {
+        long value = 0L;
+        for (int i = 0; i < numBytes; ++i) {
+            ensureBufferAvailable();
+            value = (value << 8) | (outData[nextPos] & 0xFF);
+            outData[nextPos++] = (byte)0;
+        }
+        return value;
+    }
+
+    private void ensureBufferAvailable() {
+        if ((nextPos >= batchSize) || (reseedEpoch != globalEpoch.get())) {
+            discardBuffer();
+            nextBlock();
+            nextPos = 0;
+        }
+    }
+
+    /**
+     * Generate the next block of output; every refill goes through this method, including the ones that large requests write directly into the caller's array
+     */
+    protected void nextBlock() {
+        generateBlock(blockOutput, blockOffset);
+    }
+
+    /**
+     * Generate the next block of output into the given array and replace the key
+     */
+    private void generateBlock(final byte[] output, final int offset) {
+        final int epoch = globalEpoch.get();
+        if (reseedPending || (reseedEpoch != epoch) || (++reseedCounter >= reseedLimit) || ((reseedAge > 0L) && (System.nanoTime() - reseedTime >= reseedAge))) {
+            reseedPending = !doReseed(nonBlocking || (reseedDeferred && seeded && (reseedEpoch == epoch)));
+        }
+
+        if (entropyPending) {
+            mixEntropy();
+        }
+
+        try {
+            if (counterMode) {
+                // The CTR key stream does not depend on the input, so it is read from a shared all-zero array, and the output is never zeroed beforehand
+                if (output == outData) {
+                    engine.encrypt(ZeroSource.ZEROS, 0, outData, 0, batchSize + KEY_SIZE);
+                    System.arraycopy(outData, batchSize, keyData, 0, KEY_SIZE);
+                    Arrays.fill(outData, batchSize, batchSize + KEY_SIZE, (byte)0);
+                } else {
+                    engine.encrypt(ZeroSource.ZEROS, 0, output, offset, batchSize);
+                    engine.encrypt(ZeroSource.ZEROS, 0, keyData, 0, KEY_SIZE);
+                }
+            } else {
+                engine.encrypt(PLAINTEXT_K, 0, keyData, 0, KEY_SIZE);
+                engine.encrypt(PLAINTEXT_V, 0, output, offset, OUT_SIZE);
+            }
+            emplaceKey();
+        } catch (final GeneralSecurityException e) {
+            throw new RuntimeException("Failed to update CRNG state!", e);
+        }
+
+        if (healthMonitor != null) {
+            try {
+                healthMonitor.testBlock(output, offset, batchSize);
+            } catch (final RuntimeException e) {
+                Arrays.fill(output, offset, offset + batchSize, (byte)0);
+                throw e;
+            }
+        }
+    }
+
+    private void discardBuffer() {
+        Arrays.fill(outData, nextPos, batchSize, (byte)0);
+        nextPos = batchSize;
+        bitPool = 0L;
+        bitCount = 0;
+    }
+
+    /**
+     * Re-seed this instance from its entropy source, or from the assigned root instance
+     * 
+     * @param deferred if {@code true}, the re-seed is skipped when no seed is available without waiting
+     * @return {@code true}, if the instance was re-seeded, or {@code false} if the re-seed was skipped
+     */
+    private final boolean doReseed(final boolean deferred) {
+        final int epoch = globalEpoch.get();
+        final byte[] seed = new byte[KEY_SIZE];
+        if (entropySource != null) {
+            if (deferred) {
+                if (!entropySource.tryGenerateSeed(seed)) {
+                    return false;
+                }
+            } else {
+                entropySource.generateSeed(seed);
+            }
+        } else {
+            if (deferred) {
+                if (!seedDistributor.tryTakeSeed(seed)) {
+                    return false;
+                }
+            } else {
+                seedDistributor.takeSeed(seed);
+            }
+        }
+        if (entropyPending) {
+            foldEntropy(seed);
+        }
+        setSeed(seed);
+        // Bits that were buffered before the re-seed must not be handed out afterwards, even if the buffer itself was bypassed
+        bitPool = 0L;
+        bitCount = 0;
+        reseedCounter = 0L;
+        reseedTime = System.nanoTime();
+        reseedEpoch = epoch;
+        seeded = true;
+        return true;
+    }
+
+    protected void setSeed(final byte[] seed) {
+        assert (seed != null) && (seed.length > 0) && (seed.length <= KEY_SIZE);
+        try {
+            for (int i = 0; i < 2; ++i) {
+                engine.encrypt(PLAINTEXT_K, 0, keyData, 0, KEY_SIZE);
+                xorBytes(keyData, seed);
+                emplaceKey();
+            }
+        } catch (final GeneralSecurityException e) {
+            throw new RuntimeException("Failed to re-seed the cipher!", e);
+        } finally {
+            Arrays.fill(seed, (byte)0);
+        }
+    }
+
+    /**
+     * Mix the accumulated entropy into the current key, which requires a single key schedule
+     */
+    private void mixEntropy() {
+        try {
+            engine.encrypt(PLAINTEXT_K, 0, keyData, 0, KEY_SIZE);
+            foldEntropy(keyData);
+            emplaceKey();
+        } catch (final GeneralSecurityException e) {
+            throw new RuntimeException("Failed to mix the entropy into the key!", e);
+        }
+    }
+
+    private void foldEntropy(final byte[] target) {
+        assert (target != null) && (target.length == KEY_SIZE);
+        for (int pos = 0; pos < KEY_SIZE; ++pos) {
+            target[pos] ^= (byte) (entropyPool[pos / Long.BYTES] >>> ((Long.BYTES - 1 - (pos % Long.BYTES)) * Byte.SIZE));
+        }
+        Arrays.fill(entropyPool, 0L);
+        entropyPos = 0;
+        entropyPending = false;
+    }
+
+    private void emplaceKey() throws GeneralSecurityException {
+        try {
+            engine.setKey(keyData);
+        } finally {
+            Arrays.fill(keyData, (byte)0);
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        throw new NotSerializableException();
+    }
+
+    private static void checkArray(final int arrayLength, final int offset, final int length) {
+        if (arrayLength < 0) {
+            throw new IllegalArgumentException("Output array must not be null!");
+        }
+        if ((offset < 0) || (length < 0) || (offset > arrayLength) || (arrayLength - offset < length)) {
+            throw new IllegalArgumentException("Invalid offset and/or length!");
+        }
+    }
+
+    private static void checkDeviation(final double stddev) {
+        if (!((stddev >= 0.0) && (stddev < Double.POSITIVE_INFINITY))) {
+            throw new IllegalArgumentException("Standard deviation must be a non-negative, finite value!");
+        }
+    }
+
+    private static void checkStreamSize(final long streamSize) {
+        if (streamSize < 0L) {
+            throw new IllegalArgumentException("Stream size must be a non-negative value!");
+        }
+    }
+
+    private static void checkRange(final long origin, final long bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("Bound must be greater than origin!");
+        }
+    }
+
+    private static void checkRange(final float origin, final float bound) {
+        if (!((origin < bound) && (bound - origin < Float.POSITIVE_INFINITY))) {
+            throw new IllegalArgumentException("Bound must be greater than origin, and the range must be finite!");
+        }
+    }
+
+    private static void checkRange(final double origin, final double bound) {
+        if (!((origin < bound) && (bound - origin < Double.POSITIVE_INFINITY))) {
+            throw new IllegalArgumentException("Bound must be greater than origin, and the range must be finite!");
+        }
+    }
+
+    /**
+     * Returns the upper 64 bits of the unsigned 128-bit product of {@code x} and {@code y} (Math.multiplyHigh() is not available on Java 8)
+     */
+    private static long multiplyHighUnsigned(final long x, final long y) {
+        final long x0 = x & 0xFFFFFFFFL, x1 = x >>> 32, y0 = y & 0xFFFFFFFFL, y1 = y >>> 32;
+        final long p01 = x0 * y1, p10 = x1 * y0;
+        final long carry = ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL) + (p10 & 0xFFFFFFFFL);
+        return (x1 * y1) + (p01 >>> 32) + (p10 >>> 32) + (carry >>> 32);
+    }
+
+    private static void xorBytes(final byte[] target, final byte[] source) {
+        assert (target != null) && (source != null) && (target.length >= source.length);
+        for (int pos = 0; pos < source.length; ++pos) {
+            target[pos] ^= source[pos];
+        }
+    }
+
+    private static byte[] longToByteArray(long value) {
+        final byte[] result = new byte[Long.BYTES];
+        for (int pos = Long.BYTES - 1; pos >= 0; --pos, value >>= Byte.SIZE) {
+            result[pos] = (byte) (value & 0xffL);
+        }
+        return result;
+    }
+
+    // ======================================================================
+    // System properties
+    // ======================================================================
+
+    /**
+     * Returns the constant of the given enum type that is selected by the given system property, ignoring the case; a property with an invalid value is ignored, with a warning
+     */
+    static <E extends Enum<E>> E enumProperty(final String name, final Class<E> enumType, final E defaultValue) {
+        final String value = System.getProperty(name);
+        if ((value == null) || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(enumType, value.trim().toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) { }
+        return invalidProperty(name, value, defaultValue);
+    }
+
+    /**
+     * Returns the value of the given system property, which must be at least {@code minValue}; a property with an invalid value is ignored, with a warning
+     */
+    private static long longProperty(final String name, final long minValue, final long defaultValue) {
+        final String value = System.getProperty(name);
+        if ((value == null) || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            final long result = Long.parseLong(value.trim());
+            if (result >= minValue) {
+                return result;
+            }
+        } catch (final NumberFormatException e) { }
+        return invalidProperty(name, value, defaultValue);
+    }
+
+    /**
+     * Returns the value of the given system property, which must be either {@code true} or {@code false}; a property with an invalid value is ignored, with a warning
+     */
+    private static boolean booleanProperty(final String name, final boolean defaultValue) {
+        final String value = System.getProperty(name);
+        if ((value == null) || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        if (value.trim().equalsIgnoreCase("true") || value.trim().equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value.trim());
+        }
+        return invalidProperty(name, value, defaultValue);
+    }
+
+    private static <T> T invalidProperty(final String name, final String value, final T defaultValue) {
+        LOGGER.log(Level.WARNING, String.format("Invalid value \"%s\" of property %s ignored, using %s instead!", value, name, defaultValue));
+        return defaultValue;
+    }
+
+    // ======================================================================
+    // Factory methods
+    // ======================================================================
+
+    private static final Map<Engine, ThreadLocal<FastKeyErasureRNG>> INSTANCES = new EnumMap<Engine, ThreadLocal<FastKeyErasureRNG>>(Engine.class);
+    static {
+        for (final Engine engine : Engine.values()) {
+            INSTANCES.put(engine, ThreadLocal.withInitial(() -> new FastKeyErasureRNG(engine, OUT_SIZE)));
+        }
+    }
 
     public static FastKeyErasureRNG current() {
-        return INSTANCES.get();
+        return INSTANCES.get(DEFAULT_ENGINE).get();
+    }
+
+    public static FastKeyErasureRNG current(final Engine engine) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine must not be null!");
+        }
+        return INSTANCES.get(engine).get();
+    }
+
+    /**
+     * Fill the given array with random bytes, but only if that is possible without waiting for a seed; a re-seed that is due in the meantime is deferred
+     * <p>
+     * This is used by the {@link SeedDistributor} to serve the deferred re-seeds of the ordinary instances from a “root” instance.
+     * 
+     * @return {@code true}, if the array was filled, or {@code false} if the instance needs a seed first, but none is available without waiting
+     */
+    boolean tryNextBytes(final byte[] bytes) {
+        if ((!seeded) || (reseedEpoch != globalEpoch.get())) {
+            if (!doReseed(true)) {
+                return false;
+            }
+            reseedPending = false;
+            discardBuffer();
+        }
+        nonBlocking = true;
+        try {
+            nextBytes(bytes);
+        } finally {
+            nonBlocking = false;
+        }
+        return true;
+    }
+
+    /**
+     * Create a new “root” instance, which draws its seeds from the system's entropy source, rather than from another instance
+     */
+    static FastKeyErasureRNG createRoot() {
+        return createRoot(seedHarvester);
+    }
+
+    static FastKeyErasureRNG createRoot(final EntropySource source) {
+        return new FastKeyErasureRNG(new Builder().entropySource(source));
+    }
+
+    public static FastKeyErasureRNG withBatchSize(final int batchSize) {
+        return new FastKeyErasureRNG(batchSize);
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     // ======================================================================
@@ -0,0 +1,105 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+/**
+ * Continuous health tests on the raw output of an entropy source and on the output of a {@link FastKeyErasureRNG} instance, with O(1) state
+ * <p>
+ * Each seed byte, as it comes from the entropy source (cf. {@link HealthTestedEntropySource}), is fed to the “repetition count” test and to the “adaptive proportion” test of NIST SP 800-90B, section 4.4, which are run incrementally across seeds. The cut-off values assume full entropy (H = 8 bits per byte) and a false-positive probability of α = 2<sup>-40</sup>. Each block of output is checked for being “stuck”, i.e. equal to the previous block, by comparing a 64-bit fingerprint; the fingerprint is an XOR of four words, so it does <i>not</i> retain any individual output bytes.
+ */
+final class HealthMonitor {
+
+    static final int RCT_CUTOFF = 6, APT_WINDOW = 512, APT_CUTOFF = 19;
+
+    private int rctSample = -1, rctCount, aptSample, aptCount, aptIndex = APT_WINDOW;
+
+    private long lastFingerprint;
+
+    private boolean hasFingerprint;
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Feed the given seed to the repetition count test and to the adaptive proportion test
+     * 
+     * @throws RuntimeException if any of the tests has failed; the state of the tests is reset in that case
+     */
+    public void testSeed(final byte[] seed) {
+        for (final byte value : seed) {
+            final int sample = value & 0xFF;
+
+            // Repetition count test
+            if (sample == rctSample) {
+                if (++rctCount >= RCT_CUTOFF) {
+                    reset();
+                    throw new RuntimeException("Health test failure: Repetition count test has failed on the seed material!");
+                }
+            } else {
+                rctSample = sample;
+                rctCount = 1;
+            }
+
+            // Adaptive proportion test
+            if (aptIndex >= APT_WINDOW) {
+                aptSample = sample;
+                aptCount = aptIndex = 1;
+            } else {
+                ++aptIndex;
+                if ((sample == aptSample) && (++aptCount >= APT_CUTOFF)) {
+                    reset();
+                    throw new RuntimeException("Health test failure: Adaptive proportion test has failed on the seed material!");
+                }
+            }
+        }
+    }
+
+    /**
+     * Check that the given block of output is <i>not</i> equal to the previous block
+     * 
+     * @throws RuntimeException if the output is stuck
+     */
+    public void testBlock(final byte[] block, final int offset, final int length) {
+        assert length >= 4 * Long.BYTES;
+        final long fingerprint = getLong(block, offset) ^ getLong(block, offset + Long.BYTES) ^ getLong(block, offset + length - 2 * Long.BYTES) ^ getLong(block, offset + length - Long.BYTES);
+        if (hasFingerprint && (fingerprint == lastFingerprint)) {
+            throw new RuntimeException("Health test failure: The output is stuck!");
+        }
+        lastFingerprint = fingerprint;
+        hasFingerprint = true;
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void reset() {
+        rctSample = -1;
+        rctCount = aptCount = 0;
+        aptIndex = APT_WINDOW;
+    }
+
+    private static long getLong(final byte[] array, final int offset) {
+        long value = 0L;
+        for (int pos = offset; pos < offset + Long.BYTES; ++pos) {
+            value = (value << 8) | (array[pos] & 0xFF);
+        }
+        return value;
+    }
+}
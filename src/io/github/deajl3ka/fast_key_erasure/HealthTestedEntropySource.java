@@ -0,0 +1,83 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.Arrays;
+
+/**
+ * Entropy source that feeds the raw output of another source to the SP 800-90B health tests of a {@link HealthMonitor}, before it is used as seed material
+ * <p>
+ * The tests must see the bytes <i>as they come from the source</i>, because any seed that has been derived from a generator's output looks perfectly random, even if the source is stuck. If a test fails, the affected seed is wiped and a {@link RuntimeException} is thrown.
+ */
+final class HealthTestedEntropySource implements EntropySource {
+
+    private final EntropySource source;
+
+    private final HealthMonitor monitor = new HealthMonitor();
+
+    public HealthTestedEntropySource(final EntropySource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source must not be null!");
+        }
+        this.source = source;
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    @Override
+    public void generateSeed(final byte[] seed) {
+        source.generateSeed(seed);
+        testSeed(seed);
+    }
+
+    @Override
+    public boolean tryGenerateSeed(final byte[] seed) {
+        if (!source.tryGenerateSeed(seed)) {
+            return false;
+        }
+        testSeed(seed);
+        return true;
+    }
+
+    @Override
+    public void reseed() {
+        source.reseed();
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void testSeed(final byte[] seed) {
+        try {
+            synchronized (monitor) {
+                monitor.testSeed(seed);
+            }
+        } catch (final RuntimeException e) {
+            Arrays.fill(seed, (byte)0);
+            throw e;
+        }
+    }
+}
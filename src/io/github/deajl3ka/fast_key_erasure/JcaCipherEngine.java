@@ -0,0 +1,196 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchProviderException;
+import java.security.Provider;
+import java.security.Security;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+/**
+ * Cipher engine that uses the AES-256 implementation of the Java Cryptography Architecture (JCA)
+ * 
+ * @author dEajL3kA {@literal <Cumpoing79@web.de>
+ */
+final class JcaCipherEngine implements CipherEngine {
+
+    /**
+     * Initial counter value for the “CTR” mode, the counter is restarted whenever a new key is set
+     */
+    private static final IvParameterSpec COUNTER_IV = new IvParameterSpec(new byte[16]);
+
+    /**
+     * Provider name that selects the fastest available provider automatically
+     */
+    static final String PROVIDER_AUTO = "auto";
+
+    private static final int BENCHMARK_WARMUP = 2048, BENCHMARK_ROUNDS = 5, BENCHMARK_ITERATIONS = 512;
+
+    private final Cipher cipher;
+
+    private final boolean counterMode;
+
+    private final KeyWrapper wrappedKey = new KeyWrapper();
+
+    JcaCipherEngine(final boolean counterMode) throws GeneralSecurityException {
+        this(counterMode, (Provider)null);
+    }
+
+    /**
+     * Create a new engine that uses the specified provider
+     * 
+     * @param provider the name of the provider, or {@code "auto"} to use the fastest available provider, or {@code null} to use the first provider that supports AES
+     */
+    JcaCipherEngine(final boolean counterMode, final String provider) throws GeneralSecurityException {
+        this(counterMode, resolveProvider(counterMode, provider));
+    }
+
+    private JcaCipherEngine(final boolean counterMode, final Provider provider) throws GeneralSecurityException {
+        final String transformation = getTransformation(counterMode);
+        this.cipher = (provider != null) ? Cipher.getInstance(transformation, provider) : Cipher.getInstance(transformation);
+        this.counterMode = counterMode;
+    }
+
+    // ======================================================================
+    // Key wrapper class
+    // ======================================================================
+
+    @SuppressWarnings("serial")
+    private static class KeyWrapper implements SecretKey {
+        private byte[] keyData;
+
+        @Override
+        public String getAlgorithm() {
+            return "AES";
+        }
+
+        @Override
+        public String getFormat() {
+            return "RAW";
+        }
+
+        @Override
+        public byte[] getEncoded() {
+            return keyData;
+        }
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    @Override
+    public void setKey(final byte[] key) throws GeneralSecurityException {
+        wrappedKey.keyData = key;
+        try {
+            if (counterMode) {
+                cipher.init(Cipher.ENCRYPT_MODE, wrappedKey, COUNTER_IV);
+            } else {
+                cipher.init(Cipher.ENCRYPT_MODE, wrappedKey);
+            }
+        } finally {
+            wrappedKey.keyData = null;
+        }
+    }
+
+    @Override
+    public void encrypt(final byte[] input, final int inputOffset, final byte[] output, final int outputOffset, final int length) throws GeneralSecurityException {
+        cipher.update(input, inputOffset, length, output, outputOffset);
+    }
+
+    Provider getProvider() {
+        return cipher.getProvider();
+    }
+
+    // ======================================================================
+    // Provider selection
+    // ======================================================================
+
+    private static String getTransformation(final boolean counterMode) {
+        return counterMode ? "AES/CTR/NoPadding" : "AES/ECB/NoPadding";
+    }
+
+    private static Provider resolveProvider(final boolean counterMode, final String name) throws NoSuchProviderException {
+        if (name == null) {
+            return null;
+        }
+        if (PROVIDER_AUTO.equalsIgnoreCase(name)) {
+            return counterMode ? FastestCtrProvider.PROVIDER : FastestEcbProvider.PROVIDER;
+        }
+        final Provider provider = Security.getProvider(name);
+        if (provider == null) {
+            throw new NoSuchProviderException("Provider \"" + name + "\" not found!");
+        }
+        return provider;
+    }
+
+    /**
+     * Holder of the fastest provider for the “ECB” mode, which is determined lazily, once per JVM
+     */
+    private static class FastestEcbProvider {
+        private static final Provider PROVIDER = selectFastestProvider(false);
+    }
+
+    /**
+     * Holder of the fastest provider for the “CTR” mode, which is determined lazily, once per JVM, and independently of the “ECB” mode
+     */
+    private static class FastestCtrProvider {
+        private static final Provider PROVIDER = selectFastestProvider(true);
+    }
+
+    /**
+     * Time a short refill loop on each provider that supports the required AES transformation and return the fastest one
+     */
+    static Provider selectFastestProvider(final boolean counterMode) {
+        final byte[] key = new byte[32], data = new byte[counterMode ? 1024 : 128];
+        Provider fastestProvider = null;
+        long fastestTime = Long.MAX_VALUE;
+        for (final Provider provider : Security.getProviders()) {
+            try {
+                final JcaCipherEngine engine = new JcaCipherEngine(counterMode, provider);
+                for (int i = 0; i < BENCHMARK_WARMUP; ++i) {
+                    engine.refill(key, data);
+                }
+                for (int round = 0; round < BENCHMARK_ROUNDS; ++round) {
+                    final long startTime = System.nanoTime();
+                    for (int i = 0; i < BENCHMARK_ITERATIONS; ++i) {
+                        engine.refill(key, data);
+                    }
+                    final long elapsedTime = System.nanoTime() - startTime;
+                    if (elapsedTime < fastestTime) {
+                        fastestTime = elapsedTime;
+                        fastestProvider = provider;
+                    }
+                }
+            } catch (final GeneralSecurityException | RuntimeException e) {
+                continue; /*provider does not support the transformation or is not usable*/
+            }
+        }
+        return fastestProvider;
+    }
+
+    private void refill(final byte[] key, final byte[] data) throws GeneralSecurityException {
+        setKey(key);
+        encrypt(data, 0, data, 0, data.length);
+        System.arraycopy(data, 0, key, 0, key.length);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Measures the per-call latency of the {@link FastKeyErasureRNG} API methods and records it in a high-resolution histogram
+ * <p>
+ * Each call is classified by whether it had to refill the output buffer, or even had to re-seed the generator, so that the latency spikes caused by these events can be told apart from the regular calls. Note that the overhead of {@link System#nanoTime()} is included in every sample.
+ */
+final class LatencyProfiler {
+
+    public static final int DEFAULT_ITERATIONS = 1000000;
+
+    private static final String[] METHODS = { "nextInt", "nextLong", "nextDouble", "nextBoolean", "nextUuid", "nextBytes[16]", "nextBytes[256]" };
+
+    private static final String[] CATEGORIES = { "all", "plain", "refill", "reseed" };
+
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9, 99.99 };
+
+    private static final String[] PERCENTILE_LABELS = { "p50", "p90", "p99", "p99.9", "p99.99" };
+
+    private static volatile long sink;
+
+    private final FastKeyErasureRNG.Engine engine;
+
+    private final ProfiledRNG random;
+
+    private final int iterations;
+
+    /**
+     * Create a new profiler
+     * 
+     * @param engine the cipher engine to be profiled, or {@code null} to use the default engine
+     * @param batchSize the batch size to be profiled
+     * @param iterations the number of calls to be measured for each method
+     */
+    public LatencyProfiler(final FastKeyErasureRNG.Engine engine, final int batchSize, final int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Invalid iteration count!");
+        }
+        final FastKeyErasureRNG.Builder builder = FastKeyErasureRNG.builder().batchSize(batchSize);
+        this.random = new ProfiledRNG((engine != null) ? builder.engine(engine) : builder);
+        this.engine = engine;
+        this.iterations = iterations;
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Profile all API methods and print the resulting latency distributions
+     */
+    public void run(final PrintStream out) {
+        out.printf("Engine: %s, batch size: %d, iterations: %d (latencies in nanoseconds)%n", (engine != null) ? engine : "default", random.getBatchSize(), iterations);
+        for (final String method : METHODS) {
+            final Histogram[] histograms = profile(method);
+            out.println();
+            out.printf("%s: %d calls, %d refills, %d reseeds%n", method, histograms[0].getCount(), random.refillCount, random.reseedCount);
+            out.printf("  %-8s %10s %10s %10s", "", "count", "min", "mean");
+            for (final String label : PERCENTILE_LABELS) {
+                out.printf(" %10s", label);
+            }
+            out.printf(" %10s%n", "max");
+            for (int i = 0; i < CATEGORIES.length; ++i) {
+                final Histogram histogram = histograms[i];
+                out.printf("  %-8s %10d", CATEGORIES[i], histogram.getCount());
+                if (histogram.getCount() > 0L) {
+                    out.printf(" %10d %10.1f", histogram.getMin(), histogram.getMean());
+                    for (final double percentile : PERCENTILES) {
+                        out.printf(" %10d", histogram.getValueAtPercentile(percentile));
+                    }
+                    out.printf(" %10d", histogram.getMax());
+                }
+                out.println();
+            }
+        }
+    }
+
+    /**
+     * Profile a single API method, after a warm-up phase of the same length
+     * 
+     * @return the histograms of all calls, of the "plain" calls, of the calls that refilled the buffer and of the calls that re-seeded the generator
+     */
+    public Histogram[] profile(final String method) {
+        final Histogram[] histograms = new Histogram[CATEGORIES.length];
+        for (int i = 0; i < histograms.length; ++i) {
+            histograms[i] = new Histogram();
+        }
+        final int index = Arrays.asList(METHODS).indexOf(method);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown method: " + method);
+        }
+        measure(index, null);
+        random.refillCount = random.reseedCount = 0L;
+        measure(index, histograms);
+        return histograms;
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void measure(final int method, final Histogram[] histograms) {
+        final byte[] buffer16 = new byte[16], buffer256 = new byte[256];
+        long result = 0L;
+        for (int i = 0; i < iterations; ++i) {
+            final long refillCount = random.refillCount, reseedCount = random.reseedCount;
+            final long startTime = System.nanoTime();
+            switch (method) {
+                case 0: result += random.nextInt(); break;
+                case 1: result += random.nextLong(); break;
+                case 2: result += Double.doubleToRawLongBits(random.nextDouble()); break;
+                case 3: result += random.nextBoolean() ? 1L : 0L; break;
+                case 4: result += random.nextUuid().getLeastSignificantBits(); break;
+                case 5: random.nextBytes(buffer16); result += buffer16[0]; break;
+                case 6: random.nextBytes(buffer256); result += buffer256[0]; break;
+                default: throw new AssertionError();
+            }
+            final long elapsed = System.nanoTime() - startTime;
+            if (histograms != null) {
+                histograms[0].record(elapsed);
+                histograms[(random.reseedCount != reseedCount) ? 3 : ((random.refillCount != refillCount) ? 2 : 1)].record(elapsed);
+            }
+        }
+        sink += result;
+    }
+
+    // ======================================================================
+    // Instrumented generator
+    // ======================================================================
+
+    @SuppressWarnings("serial")
+    private static final class ProfiledRNG extends FastKeyErasureRNG {
+        private long refillCount, reseedCount;
+
+        private ProfiledRNG(final FastKeyErasureRNG.Builder builder) {
+            super(builder);
+        }
+
+        @Override
+        protected void nextBlock() {
+            ++refillCount;
+            super.nextBlock();
+        }
+
+        @Override
+        protected void setSeed(final byte[] seed) {
+            ++reseedCount;
+            super.setSeed(seed);
+        }
+    }
+
+    // ======================================================================
+    // Histogram class
+    // ======================================================================
+
+    /**
+     * Log-linear histogram: every power-of-two range is split into 16 equally sized buckets, so the relative error of any reported value is below 6.25%
+     */
+    static final class Histogram {
+        private static final int SUB_BITS = 4, SUB_COUNT = 1 << SUB_BITS;
+
+        private final long[] counts = new long[(64 - SUB_BITS) << SUB_BITS];
+
+        private long count, sum, min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+
+        public void record(final long value) {
+            final long clamped = Math.max(0L, value);
+            ++counts[indexOf(clamped)];
+            ++count;
+            sum += clamped;
+            min = Math.min(min, clamped);
+            max = Math.max(max, clamped);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMin() {
+            return (count > 0L) ? min : 0L;
+        }
+
+        public long getMax() {
+            return (count > 0L) ? max : 0L;
+        }
+
+        public double getMean() {
+            return (count > 0L) ? ((double)sum / count) : 0.0;
+        }
+
+        /**
+         * Returns the (inclusive) upper bound of the bucket that contains the given percentile, limited to the largest recorded value
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if ((percentile < 0.0) || (percentile > 100.0)) {
+                throw new IllegalArgumentException("Invalid percentile!");
+            }
+            final long threshold = Math.max(1L, (long) Math.ceil((percentile / 100.0) * count));
+            long total = 0L;
+            for (int index = 0; index < counts.length; ++index) {
+                if ((total += counts[index]) >= threshold) {
+                    return Math.min(upperBoundOf(index), getMax());
+                }
+            }
+            return getMax();
+        }
+
+        static int indexOf(final long value) {
+            if (value < (SUB_COUNT << 1)) {
+                return (int) value;
+            }
+            final int msb = 63 - Long.numberOfLeadingZeros(value);
+            return ((msb - SUB_BITS + 1) << SUB_BITS) + (int) ((value >>> (msb - SUB_BITS)) & (SUB_COUNT - 1));
+        }
+
+        static long upperBoundOf(final int index) {
+            if (index < (SUB_COUNT << 1)) {
+                return index;
+            }
+            final int shift = (index >>> SUB_BITS) - 1;
+            return ((long)(SUB_COUNT + (index & (SUB_COUNT - 1)) + 1) << shift) - 1L;
+        }
+    }
+}
@@ -20,12 +20,17 @@ package io.github.deajl3ka.fast_key_erasure;
 import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.Locale;
 
 public class Main {
 
     public static void main(String[] args) {
         final short[] libVersion = FastKeyErasureRNG.getVersion();
         System.err.printf("%s [v%d.%d]%n", FastKeyErasureRNG.class.getSimpleName(), libVersion[0], libVersion[1]);
+        if ((args.length > 0) && args[0].equals("--latency")) {
+            profileLatency(args);
+            return;
+        }
         final FastKeyErasureRNG random = FastKeyErasureRNG.current();
         final byte[] buffer = new byte[4096];
         try (final FileOutputStream output = new FileOutputStream(FileDescriptor.out)) {
@@ -41,4 +46,19 @@ public class Main {
             System.err.println("Something went wrong: " + e);
         }
     }
+
+    /**
+     * Usage: {@code --latency [iterations] [engine] [batch_size]}
+     */
+    private static void profileLatency(final String[] args) {
+        try {
+            final int iterations = (args.length > 1) ? Integer.parseInt(args[1]) : LatencyProfiler.DEFAULT_ITERATIONS;
+            final FastKeyErasureRNG.Engine engine = (args.length > 2) ? FastKeyErasureRNG.Engine.valueOf(args[2].trim().toUpperCase(Locale.ROOT)) : null;
+            final int batchSize = (args.length > 3) ? Integer.parseInt(args[3]) : 96;
+            new LatencyProfiler(engine, batchSize, iterations).run(System.out);
+        } catch (final IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.err.println("Usage: --latency [iterations] [AES_JCA|AES_JAVA|CHACHA20] [batch_size]");
+        }
+    }
 }
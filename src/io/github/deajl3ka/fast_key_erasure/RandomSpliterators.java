@@ -0,0 +1,251 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Spliterators that back the {@code ints()}, {@code longs()} and {@code doubles()} streams of {@link FastKeyErasureRNG}
+ * <p>
+ * The values are read straight from the key stream buffer of the generator. Since the generator is <i>not</i> thread-safe, the first split moves <i>both</i> halves to new, independently seeded generators, so that the caller's generator is never touched by another thread and the streams can safely be processed in parallel.
+ */
+final class RandomSpliterators {
+
+    private static final int CHARACTERISTICS = Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private RandomSpliterators() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ======================================================================
+    // Integer values
+    // ======================================================================
+
+    static final class IntSpliterator implements Spliterator.OfInt {
+        private FastKeyErasureRNG random;
+
+        private final long fence;
+
+        private final int origin, bound;
+
+        private long index;
+
+        private boolean detached;
+
+        IntSpliterator(final FastKeyErasureRNG random, final long index, final long fence, final int origin, final int bound) {
+            this.random = random;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public IntSpliterator trySplit() {
+            final long start = index, middle = (start + fence) >>> 1;
+            if (middle <= start) {
+                return null;
+            }
+            if (!detached) {
+                random = random.split();
+                detached = true;
+            }
+            final IntSpliterator prefix = new IntSpliterator(random.split(), start, index = middle, origin, bound);
+            prefix.detached = true;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer consumer) {
+            if (consumer == null) {
+                throw new NullPointerException();
+            }
+            if (index < fence) {
+                consumer.accept(random.internalNextInt(origin, bound));
+                ++index;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer consumer) {
+            if (consumer == null) {
+                throw new NullPointerException();
+            }
+            for (final long end = fence; index < end; ++index) {
+                consumer.accept(random.internalNextInt(origin, bound));
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    // ======================================================================
+    // Long values
+    // ======================================================================
+
+    static final class LongSpliterator implements Spliterator.OfLong {
+        private FastKeyErasureRNG random;
+
+        private final long fence, origin, bound;
+
+        private long index;
+
+        private boolean detached;
+
+        LongSpliterator(final FastKeyErasureRNG random, final long index, final long fence, final long origin, final long bound) {
+            this.random = random;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public LongSpliterator trySplit() {
+            final long start = index, middle = (start + fence) >>> 1;
+            if (middle <= start) {
+                return null;
+            }
+            if (!detached) {
+                random = random.split();
+                detached = true;
+            }
+            final LongSpliterator prefix = new LongSpliterator(random.split(), start, index = middle, origin, bound);
+            prefix.detached = true;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final LongConsumer consumer) {
+            if (consumer == null) {
+                throw new NullPointerException();
+            }
+            if (index < fence) {
+                consumer.accept(random.internalNextLong(origin, bound));
+                ++index;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer consumer) {
+            if (consumer == null) {
+                throw new NullPointerException();
+            }
+            for (final long end = fence; index < end; ++index) {
+                consumer.accept(random.internalNextLong(origin, bound));
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    // ======================================================================
+    // Double values
+    // ======================================================================
+
+    static final class DoubleSpliterator implements Spliterator.OfDouble {
+        private FastKeyErasureRNG random;
+
+        private final long fence;
+
+        private final double origin, bound;
+
+        private long index;
+
+        private boolean detached;
+
+        DoubleSpliterator(final FastKeyErasureRNG random, final long index, final long fence, final double origin, final double bound) {
+            this.random = random;
+            this.index = index;
+            this.fence = fence;
+            this.origin = origin;
+            this.bound = bound;
+        }
+
+        @Override
+        public DoubleSpliterator trySplit() {
+            final long start = index, middle = (start + fence) >>> 1;
+            if (middle <= start) {
+                return null;
+            }
+            if (!detached) {
+                random = random.split();
+                detached = true;
+            }
+            final DoubleSpliterator prefix = new DoubleSpliterator(random.split(), start, index = middle, origin, bound);
+            prefix.detached = true;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer consumer) {
+            if (consumer == null) {
+                throw new NullPointerException();
+            }
+            if (index < fence) {
+                consumer.accept(random.internalNextDouble(origin, bound));
+                ++index;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final DoubleConsumer consumer) {
+            if (consumer == null) {
+                throw new NullPointerException();
+            }
+            for (final long end = fence; index < end; ++index) {
+                consumer.accept(random.internalNextDouble(origin, bound));
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
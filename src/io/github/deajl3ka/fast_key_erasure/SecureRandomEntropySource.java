@@ -0,0 +1,93 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Entropy source that is backed by a {@link SecureRandom} instance, such as the “strong” instance of the platform or the JDK's {@code DRBG}
+ */
+final class SecureRandomEntropySource implements EntropySource {
+
+    private volatile SecureRandom secureRandom;
+
+    private final boolean useSeed;
+
+    /**
+     * Create a new entropy source
+     * 
+     * @param secureRandom the underlying instance
+     * @param useSeed if {@code true}, the seed material is obtained via {@link SecureRandom#generateSeed(int)}, which draws from the platform's entropy source directly; otherwise it is obtained via {@link SecureRandom#nextBytes(byte[])}
+     */
+    public SecureRandomEntropySource(final SecureRandom secureRandom, final boolean useSeed) {
+        if (secureRandom == null) {
+            throw new IllegalArgumentException("SecureRandom must not be null!");
+        }
+        this.secureRandom = secureRandom;
+        this.useSeed = useSeed;
+    }
+
+    public static SecureRandomEntropySource strong() throws GeneralSecurityException {
+        return new SecureRandomEntropySource(SecureRandom.getInstanceStrong(), true);
+    }
+
+    public static SecureRandomEntropySource drbg() throws GeneralSecurityException {
+        return new SecureRandomEntropySource(SecureRandom.getInstance("DRBG"), false);
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    @Override
+    public void generateSeed(final byte[] seed) {
+        final SecureRandom currentRandom = secureRandom;
+        if (useSeed) {
+            final byte[] temp = currentRandom.generateSeed(seed.length);
+            System.arraycopy(temp, 0, seed, 0, seed.length);
+            Arrays.fill(temp, (byte)0);
+        } else {
+            currentRandom.nextBytes(seed);
+        }
+    }
+
+    /**
+     * Replace the underlying instance by a new instance of the same algorithm and provider, unless the seed material is obtained via {@link SecureRandom#generateSeed(int)}
+     * <p>
+     * The state of a generator such as the {@code DRBG} is part of a VM snapshot, so all clones of the snapshot would continue with the <i>same</i> output; the new instance is seeded from the platform's entropy source instead. ({@code SecureRandom.reseed()} is not available on Java 8.)
+     */
+    @Override
+    public void reseed() {
+        if (!useSeed) {
+            final SecureRandom currentRandom = secureRandom;
+            try {
+                secureRandom = SecureRandom.getInstance(currentRandom.getAlgorithm(), currentRandom.getProvider());
+            } catch (final NoSuchAlgorithmException e) {
+                throw new RuntimeException("Failed to re-seed the entropy source!", e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return secureRandom.getAlgorithm();
+    }
+}
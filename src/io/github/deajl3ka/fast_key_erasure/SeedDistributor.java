@@ -0,0 +1,117 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Derives the seeds of the (child) generators from a small number of “root” generators, which are the only ones that draw from the system's entropy source
+ * <p>
+ * There is one root per processor (rounded up to a power of two), each root is selected by the ID of the calling thread and is created on first use. A root generator produces 96 bytes per key, i.e. three child seeds, so it is re-seeded only once every 771 child re-seeds.
+ */
+final class SeedDistributor {
+
+    static final int MAX_ROOTS = 64;
+
+    private final Supplier<FastKeyErasureRNG> factory;
+
+    private final AtomicReferenceArray<FastKeyErasureRNG> roots;
+
+    private final ReentrantLock[] locks;
+
+    private final int mask;
+
+    public SeedDistributor(final Supplier<FastKeyErasureRNG> factory, final int rootCount) {
+        if (factory == null) {
+            throw new IllegalArgumentException("Factory must not be null!");
+        }
+        if ((rootCount < 1) || (rootCount > MAX_ROOTS)) {
+            throw new IllegalArgumentException("Invalid root count!");
+        }
+        this.factory = factory;
+        this.roots = new AtomicReferenceArray<FastKeyErasureRNG>(ceilPowerOfTwo(rootCount));
+        this.mask = roots.length() - 1;
+        this.locks = new ReentrantLock[roots.length()];
+        for (int i = 0; i < locks.length; ++i) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public SeedDistributor(final Supplier<FastKeyErasureRNG> factory) {
+        this(factory, Math.min(Runtime.getRuntime().availableProcessors(), MAX_ROOTS));
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Fill the given array with a fresh seed, derived from the root generator that is assigned to the calling thread
+     */
+    public void takeSeed(final byte[] seed) {
+        final int index = (int) Thread.currentThread().getId() & mask;
+        final FastKeyErasureRNG root = getRoot(index);
+        locks[index].lock();
+        try {
+            root.nextBytes(seed);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    /**
+     * Fill the given array with a fresh seed, but only if the assigned root generator is <i>not</i> currently in use by another thread and does not have to wait for a seed itself
+     * 
+     * @return {@code true}, if the array was filled, or {@code false} otherwise
+     */
+    public boolean tryTakeSeed(final byte[] seed) {
+        final int index = (int) Thread.currentThread().getId() & mask;
+        final FastKeyErasureRNG root = getRoot(index);
+        if (!locks[index].tryLock()) {
+            return false;
+        }
+        try {
+            return root.tryNextBytes(seed);
+        } finally {
+            locks[index].unlock();
+        }
+    }
+
+    public int getRootCount() {
+        return roots.length();
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private FastKeyErasureRNG getRoot(final int index) {
+        final FastKeyErasureRNG root = roots.get(index);
+        if (root != null) {
+            return root;
+        }
+        final FastKeyErasureRNG instance = factory.get();
+        return roots.compareAndSet(index, null, instance) ? instance : roots.get(index);
+    }
+
+    private static int ceilPowerOfTwo(final int value) {
+        return (value > 1) ? Integer.highestOneBit(value - 1) << 1 : 1;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a small pool of fresh seeds ready, which are harvested from the (possibly blocking) entropy source by a background thread
+ * <p>
+ * A seed is taken from the pool without waiting. If the pool has run empty, the seed is generated synchronously on the caller's thread from the <i>fallback</i> source, which must be non-blocking (e.g. {@code /dev/urandom}), so that the wait is bounded by a single read from that source; by default, the fallback source is the source itself. A “deferred” re-seed policy uses {@link #tryGenerateSeed(byte[])} instead, which never waits. If the source fails, the background thread logs the error and retries with an exponential back-off.
+ */
+final class SeedHarvester implements EntropySource, Runnable, AutoCloseable {
+
+    static final int POOL_SIZE = 16;
+
+    private static final long MIN_BACKOFF = 100L, MAX_BACKOFF = 60000L;
+
+    private static final Logger LOGGER = Logger.getLogger(SeedHarvester.class.getName());
+
+    private final EntropySource source, fallback;
+
+    private final int seedSize;
+
+    private final BlockingQueue<PooledSeed> pool = new ArrayBlockingQueue<PooledSeed>(POOL_SIZE);
+
+    private final AtomicInteger generation = new AtomicInteger();
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    private volatile Thread thread;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Create a new harvester
+     * 
+     * @param source the (possibly blocking) source that the background thread harvests from
+     * @param fallback the non-blocking source that a seed is generated from on the caller's thread, if the pool has run empty
+     * @param seedSize the size of each seed, in bytes
+     */
+    public SeedHarvester(final EntropySource source, final EntropySource fallback, final int seedSize) {
+        if ((source == null) || (fallback == null)) {
+            throw new IllegalArgumentException("Source must not be null!");
+        }
+        if (seedSize < 1) {
+            throw new IllegalArgumentException("Invalid seed size!");
+        }
+        this.source = source;
+        this.fallback = fallback;
+        this.seedSize = seedSize;
+    }
+
+    public SeedHarvester(final EntropySource source, final int seedSize) {
+        this(source, source, seedSize);
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Take a fresh seed from the pool, without waiting; if the pool is currently empty, the seed is generated synchronously from the non-blocking fallback source
+     * <p>
+     * The background thread is started on the first call.
+     */
+    public byte[] takeSeed() {
+        ensureStarted();
+        final byte[] seed = pollSeed();
+        if (seed != null) {
+            return seed;
+        }
+        fallbackCount.incrementAndGet();
+        return generate(fallback);
+    }
+
+    /**
+     * Fill the given array with a seed from the pool; arrays that do not match the seed size are filled by the underlying source directly
+     */
+    @Override
+    public void generateSeed(final byte[] seed) {
+        if (seed.length != seedSize) {
+            source.generateSeed(seed);
+            return;
+        }
+        final byte[] pooledSeed = takeSeed();
+        try {
+            System.arraycopy(pooledSeed, 0, seed, 0, seedSize);
+        } finally {
+            Arrays.fill(pooledSeed, (byte)0);
+        }
+    }
+
+    /**
+     * Fill the given array with a seed from the pool, but only if the pool is <i>not</i> currently empty
+     */
+    @Override
+    public boolean tryGenerateSeed(final byte[] seed) {
+        if (seed.length != seedSize) {
+            return false;
+        }
+        ensureStarted();
+        final byte[] pooledSeed = pollSeed();
+        if (pooledSeed == null) {
+            return false;
+        }
+        try {
+            System.arraycopy(pooledSeed, 0, seed, 0, seedSize);
+        } finally {
+            Arrays.fill(pooledSeed, (byte)0);
+        }
+        return true;
+    }
+
+    /**
+     * Discard all seeds that have been harvested so far, including a seed that the background thread is currently generating or adding to the pool
+     */
+    public void discard() {
+        generation.incrementAndGet();
+        for (PooledSeed entry; (entry = pool.poll()) != null; ) {
+            Arrays.fill(entry.seed, (byte)0);
+        }
+    }
+
+    /**
+     * Stop the background thread and discard all seeds that are currently in the pool; seeds can still be generated synchronously afterwards
+     */
+    @Override
+    public void close() {
+        closed = true;
+        final Thread currentThread = thread;
+        if (currentThread != null) {
+            currentThread.interrupt();
+        }
+        discard();
+    }
+
+    public int getAvailable() {
+        return pool.size();
+    }
+
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    public boolean isRunning() {
+        return started.get();
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private void ensureStarted() {
+        if ((!closed) && started.compareAndSet(false, true)) {
+            final Thread newThread = new Thread(this, "FastKeyErasureRNG-SeedHarvester");
+            newThread.setDaemon(true);
+            newThread.setPriority(Thread.MIN_PRIORITY);
+            thread = newThread;
+            newThread.start();
+            if (closed) {
+                newThread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Take the next seed from the pool, skipping (and wiping) all seeds that were harvested before the last call to {@link #discard()}
+     */
+    private byte[] pollSeed() {
+        for (PooledSeed entry; (entry = pool.poll()) != null; ) {
+            if (entry.generation == generation.get()) {
+                return entry.seed;
+            }
+            Arrays.fill(entry.seed, (byte)0);
+        }
+        return null;
+    }
+
+    private byte[] generate(final EntropySource entropySource) {
+        final byte[] seed = new byte[seedSize];
+        entropySource.generateSeed(seed);
+        return seed;
+    }
+
+    // ======================================================================
+    // Background thread
+    // ======================================================================
+
+    @Override
+    public void run() {
+        long backoff = MIN_BACKOFF;
+        try {
+            while (!closed) {
+                final int currentGeneration = generation.get();
+                final byte[] seed;
+                try {
+                    seed = generate(source);
+                } catch (final RuntimeException e) {
+                    LOGGER.log(Level.WARNING, String.format("Failed to harvest seed, retrying in %d ms!", backoff), e);
+                    Thread.sleep(backoff);
+                    backoff = Math.min(2L * backoff, MAX_BACKOFF);
+                    continue;
+                }
+                backoff = MIN_BACKOFF;
+                if (currentGeneration != generation.get()) {
+                    Arrays.fill(seed, (byte)0);
+                    continue;
+                }
+                final PooledSeed entry = new PooledSeed(currentGeneration, seed);
+                pool.put(entry);
+                // The pool may have been discarded while waiting for a free slot
+                if ((currentGeneration != generation.get()) && pool.remove(entry)) {
+                    Arrays.fill(seed, (byte)0);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // Allow the thread to be restarted on the next call, unless the harvester was closed
+            thread = null;
+            started.set(false);
+            if (closed) {
+                discard();
+            }
+        }
+    }
+
+    // ======================================================================
+    // Pooled seed
+    // ======================================================================
+
+    private static final class PooledSeed {
+        private final int generation;
+
+        private final byte[] seed;
+
+        private PooledSeed(final int generation, final byte[] seed) {
+            this.generation = generation;
+            this.seed = seed;
+        }
+    }
+}
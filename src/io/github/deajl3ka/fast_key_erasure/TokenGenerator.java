@@ -0,0 +1,248 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Generates random tokens, e.g. session IDs, API keys or passwords, of a fixed length over a fixed alphabet
+ * <p>
+ * The characters are drawn from the bit reservoir of a {@link FastKeyErasureRNG} instance and are written straight into a caller-supplied {@code char[]}, {@code StringBuilder} or {@code ByteBuffer}, so no memory is allocated per token. Each character takes ⌈log<sub>2</sub> <i>n</i>⌉ bits of the key stream, for an alphabet of <i>n</i> characters; values that are out of range are rejected, so the characters are unbiased for <i>any</i> alphabet size. A generator is immutable and can be shared by many threads.
+ * <p>
+ * Example:
+ * <pre>
+ * final TokenGenerator generator = TokenGenerator.of(TokenGenerator.Alphabet.BASE64URL, 22);
+ * final char[] token = new char[generator.getLength()];
+ * generator.nextToken(FastKeyErasureRNG.current(), token, 0);</pre>
+ */
+public final class TokenGenerator {
+
+    private static final int MAX_ALPHABET_SIZE = 0x7E - 0x21 + 1;
+
+    private final char[] alphabet;
+
+    private final int length, bitsPerChar;
+
+    private TokenGenerator(final char[] alphabet, final int length) {
+        this.alphabet = alphabet;
+        this.length = length;
+        bitsPerChar = Integer.SIZE - Integer.numberOfLeadingZeros(alphabet.length - 1);
+    }
+
+    // ======================================================================
+    // Alphabets
+    // ======================================================================
+
+    public enum Alphabet {
+        /**
+         * Lower-case hexadecimal digits, 4 bits per character
+         */
+        HEX("0123456789abcdef"),
+
+        /**
+         * The URL- and filename-safe Base64 alphabet of RFC 4648, 6 bits per character
+         */
+        BASE64URL("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"),
+
+        /**
+         * Crockford's Base32 alphabet, which excludes the letters I, L, O and U, 5 bits per character
+         */
+        CROCKFORD_BASE32("0123456789ABCDEFGHJKMNPQRSTVWXYZ"),
+
+        /**
+         * Upper-case letters, lower-case letters and digits, ≈ 5.95 bits per character
+         */
+        ALPHANUMERIC("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789");
+
+        private final String characters;
+
+        Alphabet(final String characters) {
+            this.characters = characters;
+        }
+
+        public String getCharacters() {
+            return characters;
+        }
+    }
+
+    // ======================================================================
+    // Factory methods
+    // ======================================================================
+
+    public static TokenGenerator of(final Alphabet alphabet, final int length) {
+        if (alphabet == null) {
+            throw new IllegalArgumentException("Alphabet must not be null!");
+        }
+        return of(alphabet.characters, length);
+    }
+
+    /**
+     * Create a new token generator for the given alphabet, which must consist of 2 to 94 distinct printable ASCII characters (excluding the space)
+     */
+    public static TokenGenerator of(final String alphabet, final int length) {
+        if (alphabet == null) {
+            throw new IllegalArgumentException("Alphabet must not be null!");
+        }
+        if (length < 1) {
+            throw new IllegalArgumentException("Length must be a positive value!");
+        }
+        final char[] characters = alphabet.toCharArray();
+        if ((characters.length < 2) || (characters.length > MAX_ALPHABET_SIZE)) {
+            throw new IllegalArgumentException("Alphabet must contain 2 to 94 characters!");
+        }
+        final boolean[] seen = new boolean[0x80];
+        for (final char c : characters) {
+            if ((c < 0x21) || (c > 0x7E)) {
+                throw new IllegalArgumentException("Alphabet must consist of printable ASCII characters!");
+            }
+            if (seen[c]) {
+                throw new IllegalArgumentException("Alphabet must not contain duplicate characters!");
+            }
+            seen[c] = true;
+        }
+        return new TokenGenerator(characters, length);
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Returns a new token as a {@code String}, using the thread-local instance; prefer the methods that write into a caller-supplied buffer on hot paths
+     */
+    public String nextToken() {
+        return nextToken(FastKeyErasureRNG.current());
+    }
+
+    public String nextToken(final FastKeyErasureRNG random) {
+        final StringBuilder output = new StringBuilder(length);
+        nextToken(random, output);
+        return output.toString();
+    }
+
+    /**
+     * Write a token of {@link #getLength()} characters into the given array, starting at {@code offset}
+     */
+    public void nextToken(final FastKeyErasureRNG random, final char[] output, final int offset) {
+        nextTokens(random, output, offset, 1);
+    }
+
+    /**
+     * Write {@code count} consecutive tokens of {@link #getLength()} characters each into the given array, starting at {@code offset}
+     */
+    public void nextTokens(final FastKeyErasureRNG random, final char[] output, final int offset, final int count) {
+        checkRandom(random);
+        if (output == null) {
+            throw new IllegalArgumentException("Output array must not be null!");
+        }
+        final int total = checkCount(count);
+        if ((offset < 0) || (offset > output.length) || (output.length - offset < total)) {
+            throw new IllegalArgumentException("Invalid offset and/or output array is too small!");
+        }
+
+        for (int pos = offset, end = offset + total; pos < end; ) {
+            final int index = random.internalNextBits(bitsPerChar);
+            if (index < alphabet.length) {
+                output[pos++] = alphabet[index];
+            }
+        }
+    }
+
+    /**
+     * Append a token of {@link #getLength()} characters to the given {@code StringBuilder}
+     */
+    public void nextToken(final FastKeyErasureRNG random, final StringBuilder output) {
+        checkRandom(random);
+        if (output == null) {
+            throw new IllegalArgumentException("Output must not be null!");
+        }
+
+        output.ensureCapacity(output.length() + length);
+        for (int done = 0; done < length; ) {
+            final int index = random.internalNextBits(bitsPerChar);
+            if (index < alphabet.length) {
+                output.append(alphabet[index]);
+                ++done;
+            }
+        }
+    }
+
+    /**
+     * Write a token of {@link #getLength()} ASCII characters into the given buffer, at its current position
+     */
+    public void nextToken(final FastKeyErasureRNG random, final ByteBuffer output) {
+        nextTokens(random, output, 1);
+    }
+
+    /**
+     * Write {@code count} consecutive tokens of {@link #getLength()} ASCII characters each into the given buffer, at its current position
+     */
+    public void nextTokens(final FastKeyErasureRNG random, final ByteBuffer output, final int count) {
+        checkRandom(random);
+        if (output == null) {
+            throw new IllegalArgumentException("Output buffer must not be null!");
+        }
+        if (output.isReadOnly()) {
+            throw new IllegalArgumentException("Output buffer must not be read-only!");
+        }
+        final int total = checkCount(count);
+        if (output.remaining() < total) {
+            throw new IllegalArgumentException("Output buffer is too small!");
+        }
+
+        for (int done = 0; done < total; ) {
+            final int index = random.internalNextBits(bitsPerChar);
+            if (index < alphabet.length) {
+                output.put((byte) alphabet[index]);
+                ++done;
+            }
+        }
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public String getAlphabet() {
+        return new String(alphabet);
+    }
+
+    /**
+     * Returns the entropy of each token, in bits, i.e. {@code length * log2(alphabet size)}
+     */
+    public double getEntropyBits() {
+        return length * (Math.log(alphabet.length) / Math.log(2.0));
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private int checkCount(final int count) {
+        if ((count < 0) || ((long) count * length > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("Invalid token count!");
+        }
+        return count * length;
+    }
+
+    private static void checkRandom(final FastKeyErasureRNG random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator must not be null!");
+        }
+    }
+}
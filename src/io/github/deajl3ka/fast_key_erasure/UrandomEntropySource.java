@@ -0,0 +1,89 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Entropy source that reads from the non-blocking {@code /dev/urandom} device of the kernel
+ * <p>
+ * The device is kept open in a long-lived {@link FileChannel} and is read into a reused direct buffer, so that no file is opened and no memory is allocated per seed. On modern kernels, {@code /dev/urandom} is as secure as {@code /dev/random}, once it has been initialized.
+ */
+final class UrandomEntropySource implements EntropySource {
+
+    public static final Path DEFAULT_PATH = Paths.get("/dev/urandom");
+
+    private static final int BUFFER_SIZE = 256;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final Path path;
+
+    public UrandomEntropySource(final Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must not be null!");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.path = path;
+    }
+
+    public UrandomEntropySource() throws IOException {
+        this(DEFAULT_PATH);
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    @Override
+    public synchronized void generateSeed(final byte[] seed) {
+        try {
+            for (int copyCount, done = 0; done < seed.length; done += copyCount) {
+                ((Buffer)buffer).clear();
+                ((Buffer)buffer).limit(copyCount = Math.min(BUFFER_SIZE, seed.length - done));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new IOException("Unexpected end of stream!");
+                    }
+                }
+                ((Buffer)buffer).flip();
+                buffer.get(seed, done, copyCount);
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException("Failed to read from " + path + "!", e);
+        } finally {
+            ((Buffer)buffer).clear();
+            while (buffer.hasRemaining()) {
+                buffer.put((byte)0);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+/**
+ * Weighted random choice of an index, in O(1) per draw, using Vose's alias method
+ * <p>
+ * Each draw takes one bounded {@code int} and one fraction from a {@link FastKeyErasureRNG} instance and does <i>not</i> allocate any memory. The alias table is immutable and is replaced atomically by {@link #update(double[])}, so a sampler can be shared by many threads, and a weight update never blocks the threads that are sampling concurrently.
+ * <p>
+ * Example:
+ * <pre>
+ * final WeightedSampler sampler = WeightedSampler.of(new double[] { 0.5, 0.3, 0.2 });
+ * final int index = sampler.sample();</pre>
+ */
+public final class WeightedSampler {
+
+    private volatile AliasTable table;
+
+    private WeightedSampler(final AliasTable table) {
+        this.table = table;
+    }
+
+    // ======================================================================
+    // Factory methods
+    // ======================================================================
+
+    /**
+     * Create a new sampler from the given (non-negative) weights, which do <i>not</i> need to be normalized
+     */
+    public static WeightedSampler of(final double[] weights) {
+        return new WeightedSampler(AliasTable.build(weights));
+    }
+
+    public static WeightedSampler of(final long[] weights) {
+        return new WeightedSampler(AliasTable.build(toDoubles(weights)));
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Returns a random index, where index <i>i</i> is chosen with a probability proportional to the <i>i</i>-th weight, using the thread-local instance
+     */
+    public int sample() {
+        return sample(FastKeyErasureRNG.current());
+    }
+
+    public int sample(final FastKeyErasureRNG random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator must not be null!");
+        }
+        return table.sample(random);
+    }
+
+    /**
+     * Fill the given array with random indices, using the thread-local instance
+     */
+    public void sample(final int[] output) {
+        sample(FastKeyErasureRNG.current(), output, 0, (output != null) ? output.length : 0);
+    }
+
+    public void sample(final FastKeyErasureRNG random, final int[] output, final int offset, final int length) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator must not be null!");
+        }
+        if (output == null) {
+            throw new IllegalArgumentException("Output array must not be null!");
+        }
+        if ((offset < 0) || (length < 0) || (offset > output.length) || (output.length - offset < length)) {
+            throw new IllegalArgumentException("Invalid offset and/or length!");
+        }
+        final AliasTable current = table;
+        for (int i = offset, end = offset + length; i < end; ++i) {
+            output[i] = current.sample(random);
+        }
+    }
+
+    /**
+     * Replace the weights of this sampler; the new alias table is built in O(n) on the caller's thread and is then published atomically
+     * <p>
+     * Threads that are sampling concurrently keep using the previous table until the new one has been published, so they are never blocked. A single bulk {@code sample()} call always uses one consistent table.
+     */
+    public void update(final double[] weights) {
+        table = AliasTable.build(weights);
+    }
+
+    public void update(final long[] weights) {
+        table = AliasTable.build(toDoubles(weights));
+    }
+
+    public int getSize() {
+        return table.probability.length;
+    }
+
+    // ======================================================================
+    // Alias table
+    // ======================================================================
+
+    private static final class AliasTable {
+        private final double[] probability;
+
+        private final int[] alias;
+
+        private AliasTable(final double[] probability, final int[] alias) {
+            this.probability = probability;
+            this.alias = alias;
+        }
+
+        private int sample(final FastKeyErasureRNG random) {
+            final int column = random.nextInt(probability.length);
+            return (random.nextDouble() < probability[column]) ? column : alias[column];
+        }
+
+        /**
+         * Build the alias table from the given weights, using Vose's algorithm, which is numerically stable
+         */
+        private static AliasTable build(final double[] weights) {
+            if ((weights == null) || (weights.length < 1)) {
+                throw new IllegalArgumentException("Weights must not be null or empty!");
+            }
+            double sum = 0.0;
+            for (final double weight : weights) {
+                if (!((weight >= 0.0) && (weight < Double.POSITIVE_INFINITY))) {
+                    throw new IllegalArgumentException("Weights must be non-negative, finite values!");
+                }
+                sum += weight;
+            }
+            if (!((sum > 0.0) && (sum < Double.POSITIVE_INFINITY))) {
+                throw new IllegalArgumentException("Sum of weights must be positive and finite!");
+            }
+
+            final int count = weights.length;
+            final double[] probability = new double[count];
+            final int[] alias = new int[count], worklist = new int[count];
+            int smallCount = 0, largeStart = count;
+            for (int i = 0; i < count; ++i) {
+                probability[i] = weights[i] * count / sum;
+                if (probability[i] < 1.0) {
+                    worklist[smallCount++] = i;
+                } else {
+                    worklist[--largeStart] = i;
+                }
+            }
+
+            /* “small” indices are stacked at the front of the worklist, “large” indices at the back */
+            while ((smallCount > 0) && (largeStart < count)) {
+                final int small = worklist[--smallCount], large = worklist[largeStart];
+                alias[small] = large;
+                if ((probability[large] = (probability[large] + probability[small]) - 1.0) < 1.0) {
+                    worklist[smallCount++] = large;
+                    ++largeStart;
+                }
+            }
+            while (largeStart < count) {
+                probability[worklist[largeStart++]] = 1.0;
+            }
+            while (smallCount > 0) {
+                probability[worklist[--smallCount]] = 1.0; /* only reached due to rounding errors */
+            }
+
+            return new AliasTable(probability, alias);
+        }
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private static double[] toDoubles(final long[] weights) {
+        if (weights == null) {
+            throw new IllegalArgumentException("Weights must not be null or empty!");
+        }
+        final double[] result = new double[weights.length];
+        for (int i = 0; i < weights.length; ++i) {
+            result[i] = weights[i];
+        }
+        return result;
+    }
+}
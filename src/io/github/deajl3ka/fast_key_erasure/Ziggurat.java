@@ -0,0 +1,160 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+/**
+ * Ziggurat samplers for the standard normal and the standard exponential distribution, after Marsaglia and Tsang (2000), with 256 layers each
+ * <p>
+ * Each sample takes a single 64-bit word from the key stream in the common case (≈ 99% of the time): the low 8 bits select the layer, and the upper 56 bits provide the value. Only samples that fall into the wedge of a layer, or into the tail, take additional uniform values. The tables are computed once, when this class is initialized.
+ */
+final class Ziggurat {
+
+    private static final int LAYER_COUNT = 256, LAYER_MASK = LAYER_COUNT - 1;
+
+    private static final double NORMAL_R = 3.6541528853610088, NORMAL_V = 0.00492867323399;
+
+    private static final double EXPONENTIAL_R = 7.69711747013104972, EXPONENTIAL_V = 0.0039496598225815571993;
+
+    private static final double NORMAL_SCALE = 0x1.0p55, EXPONENTIAL_SCALE = 0x1.0p56;
+
+    private static final long[] normalK = new long[LAYER_COUNT], exponentialK = new long[LAYER_COUNT];
+
+    private static final double[] normalW = new double[LAYER_COUNT], normalF = new double[LAYER_COUNT];
+
+    private static final double[] exponentialW = new double[LAYER_COUNT], exponentialF = new double[LAYER_COUNT];
+
+    static {
+        double dn = NORMAL_R, tn = dn;
+        final double qn = NORMAL_V / Math.exp(-0.5 * dn * dn);
+        normalK[0] = (long) ((dn / qn) * NORMAL_SCALE);
+        normalK[1] = 0L;
+        normalW[0] = qn / NORMAL_SCALE;
+        normalW[LAYER_MASK] = dn / NORMAL_SCALE;
+        normalF[0] = 1.0;
+        normalF[LAYER_MASK] = Math.exp(-0.5 * dn * dn);
+        for (int i = LAYER_MASK - 1; i >= 1; --i) {
+            dn = Math.sqrt(-2.0 * Math.log(NORMAL_V / dn + Math.exp(-0.5 * dn * dn)));
+            normalK[i + 1] = (long) ((dn / tn) * NORMAL_SCALE);
+            tn = dn;
+            normalF[i] = Math.exp(-0.5 * dn * dn);
+            normalW[i] = dn / NORMAL_SCALE;
+        }
+
+        double de = EXPONENTIAL_R, te = de;
+        final double qe = EXPONENTIAL_V / Math.exp(-de);
+        exponentialK[0] = (long) ((de / qe) * EXPONENTIAL_SCALE);
+        exponentialK[1] = 0L;
+        exponentialW[0] = qe / EXPONENTIAL_SCALE;
+        exponentialW[LAYER_MASK] = de / EXPONENTIAL_SCALE;
+        exponentialF[0] = 1.0;
+        exponentialF[LAYER_MASK] = Math.exp(-de);
+        for (int i = LAYER_MASK - 1; i >= 1; --i) {
+            de = -Math.log(EXPONENTIAL_V / de + Math.exp(-de));
+            exponentialK[i + 1] = (long) ((de / te) * EXPONENTIAL_SCALE);
+            te = de;
+            exponentialF[i] = Math.exp(-de);
+            exponentialW[i] = de / EXPONENTIAL_SCALE;
+        }
+    }
+
+    private Ziggurat() {
+        throw new UnsupportedOperationException();
+    }
+
+    // ======================================================================
+    // Public methods
+    // ======================================================================
+
+    /**
+     * Returns a normally distributed value with a mean of 0.0 and a standard deviation of 1.0
+     */
+    public static double nextGaussian(final FastKeyErasureRNG random) {
+        final long word = random.nextLong();
+        final long hz = word >> 8;
+        final int iz = (int) word & LAYER_MASK;
+        if (Math.abs(hz) < normalK[iz]) {
+            return hz * normalW[iz];
+        }
+        return normalSlowPath(random, hz, iz);
+    }
+
+    /**
+     * Returns an exponentially distributed value with a mean of 1.0
+     */
+    public static double nextExponential(final FastKeyErasureRNG random) {
+        final long word = random.nextLong();
+        final long jz = word >>> 8;
+        final int iz = (int) word & LAYER_MASK;
+        if (jz < exponentialK[iz]) {
+            return jz * exponentialW[iz];
+        }
+        return exponentialSlowPath(random, jz, iz);
+    }
+
+    // ======================================================================
+    // Internal methods
+    // ======================================================================
+
+    private static double normalSlowPath(final FastKeyErasureRNG random, long hz, int iz) {
+        for (;;) {
+            if (iz == 0) {
+                double x, y;
+                do {
+                    x = -Math.log(nextOpenUnit(random)) / NORMAL_R;
+                    y = -Math.log(nextOpenUnit(random));
+                } while (y + y < x * x);
+                return (hz > 0L) ? NORMAL_R + x : -NORMAL_R - x;
+            }
+            final double x = hz * normalW[iz];
+            if (normalF[iz] + random.nextDouble() * (normalF[iz - 1] - normalF[iz]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+            final long word = random.nextLong();
+            hz = word >> 8;
+            iz = (int) word & LAYER_MASK;
+            if (Math.abs(hz) < normalK[iz]) {
+                return hz * normalW[iz];
+            }
+        }
+    }
+
+    private static double exponentialSlowPath(final FastKeyErasureRNG random, long jz, int iz) {
+        for (;;) {
+            if (iz == 0) {
+                return EXPONENTIAL_R - Math.log(nextOpenUnit(random));
+            }
+            final double x = jz * exponentialW[iz];
+            if (exponentialF[iz] + random.nextDouble() * (exponentialF[iz - 1] - exponentialF[iz]) < Math.exp(-x)) {
+                return x;
+            }
+            final long word = random.nextLong();
+            jz = word >>> 8;
+            iz = (int) word & LAYER_MASK;
+            if (jz < exponentialK[iz]) {
+                return jz * exponentialW[iz];
+            }
+        }
+    }
+
+    /**
+     * Returns a value in the range from 0.0 (exclusive) to 1.0 (inclusive), so that its logarithm is always finite
+     */
+    private static double nextOpenUnit(final FastKeyErasureRNG random) {
+        return 1.0 - random.nextDouble();
+    }
+}
@@ -22,9 +22,16 @@ import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInfo;
@@ -69,6 +76,33 @@ public abstract class AbstractUnitTest {
         };
     }
 
+    // ======================================================================
+    // Logging
+    // ======================================================================
+
+    protected static List<String> captureWarnings(final Class<?> clazz, final Runnable action) {
+        final List<String> warnings = Collections.synchronizedList(new ArrayList<String>());
+        final Logger logger = Logger.getLogger(Objects.requireNonNull(clazz, "Class must not be null!").getName());
+        final Handler handler = new Handler() {
+            @Override
+            public void publish(final LogRecord record) {
+                if (record.getLevel().intValue() >= Level.WARNING.intValue()) {
+                    warnings.add(record.getMessage());
+                }
+            }
+            @Override public void flush() { }
+            @Override public void close() throws SecurityException { }
+        };
+        logger.addHandler(handler);
+        try {
+            action.run();
+        } finally {
+            logger.removeHandler(handler);
+        }
+        warnings.forEach(System.out::println);
+        return warnings;
+    }
+
     // ======================================================================
     // MutableLong class
     // ======================================================================
@@ -234,4 +268,27 @@ public abstract class AbstractUnitTest {
             return null;
         }
     }
+
+    protected static <T> T getInstanceField(final Object instance, final Class<?> clazz, final Class<T> resultType, final String name) {
+        try {
+            final Field field = clazz.getDeclaredField(name);
+            boolean retryFlag = false;
+            if (Modifier.isStatic(field.getModifiers())) {
+                throw new IllegalArgumentException("Not an instance field!");
+            }
+            for (;;) {
+                try {
+                    return resultType.cast(field.get(instance));
+                } catch (IllegalAccessException e) {
+                    if (retryFlag) {
+                        return null;
+                    }
+                    field.setAccessible(true);
+                    retryFlag = true;
+                }
+            }
+        } catch (ClassCastException | ReflectiveOperationException | SecurityException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.fzakaria.ascii85.Ascii85;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class AesCipherEngineTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testKnownAnswer() throws GeneralSecurityException {
+        // Test vector from FIPS-197, appendix C.3
+        final byte[] key = new byte[32], plaintext = new byte[16], ciphertext = new byte[16];
+        for (int i = 0; i < key.length; ++i) {
+            key[i] = (byte)i;
+        }
+        for (int i = 0; i < plaintext.length; ++i) {
+            plaintext[i] = (byte)((i << 4) | i);
+        }
+
+        // Encrypt
+        final AesCipherEngine engine = new AesCipherEngine(false);
+        engine.setKey(key);
+        engine.encrypt(plaintext, 0, ciphertext, 0, ciphertext.length);
+        System.out.println(Ascii85.encode(ciphertext));
+
+        // Verify
+        final byte[] expected = new byte[] {
+            (byte)0x8E, (byte)0xA2, (byte)0xB7, (byte)0xCA, (byte)0x51, (byte)0x67, (byte)0x45, (byte)0xBF,
+            (byte)0xEA, (byte)0xFC, (byte)0x49, (byte)0x90, (byte)0x4B, (byte)0x49, (byte)0x60, (byte)0x89
+        };
+        assertArrayEquals(expected, ciphertext);
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @ValueSource(booleans = {false, true})
+    public void testCompareJca(final boolean counterMode) throws GeneralSecurityException {
+        // Create engines
+        final CipherEngine reference = new JcaCipherEngine(counterMode), engine = new AesCipherEngine(counterMode);
+
+        // Local random generator
+        final ThreadLocalRandom localRandom = ThreadLocalRandom.current();
+
+        // Allocate arrays
+        final byte[] key = new byte[32], input = new byte[4096], expected = new byte[4096], output = new byte[4096];
+
+        for (int i = 0; i < 99991; ++i) {
+            // Set key (note that the JCA may wipe the given key array)
+            localRandom.nextBytes(key);
+            engine.setKey(key);
+            reference.setKey(key);
+
+            // Encrypt multiple chunks, the counter must continue across calls
+            for (int j = 0; j < 3; ++j) {
+                final int length = 16 * localRandom.nextInt(1, input.length / 16);
+                localRandom.nextBytes(input);
+                reference.encrypt(input, 0, expected, 0, length);
+                engine.encrypt(input, 0, output, 0, length);
+                assertArrayEquals(Arrays.copyOf(expected, length), Arrays.copyOf(output, length));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.ChaCha20ParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.github.fzakaria.ascii85.Ascii85;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ChaCha20CipherEngineTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testKnownAnswer() {
+        // Test vector from RFC 8439, appendix A.1, test vector #1
+        final byte[] key = new byte[32], keyStream = new byte[64];
+
+        // Encrypt
+        final ChaCha20CipherEngine engine = new ChaCha20CipherEngine();
+        engine.setKey(key);
+        engine.encrypt(new byte[keyStream.length], 0, keyStream, 0, keyStream.length);
+        System.out.println(Ascii85.encode(keyStream));
+
+        // Verify
+        final byte[] expected = new byte[] {
+            (byte)0x76, (byte)0xB8, (byte)0xE0, (byte)0xAD, (byte)0xA0, (byte)0xF1, (byte)0x3D, (byte)0x90, (byte)0x40, (byte)0x5D, (byte)0x6A, (byte)0xE5, (byte)0x53, (byte)0x86, (byte)0xBD, (byte)0x28,
+            (byte)0xBD, (byte)0xD2, (byte)0x19, (byte)0xB8, (byte)0xA0, (byte)0x8D, (byte)0xED, (byte)0x1A, (byte)0xA8, (byte)0x36, (byte)0xEF, (byte)0xCC, (byte)0x8B, (byte)0x77, (byte)0x0D, (byte)0xC7,
+            (byte)0xDA, (byte)0x41, (byte)0x59, (byte)0x7C, (byte)0x51, (byte)0x57, (byte)0x48, (byte)0x8D, (byte)0x77, (byte)0x24, (byte)0xE0, (byte)0x3F, (byte)0xB8, (byte)0xD8, (byte)0x4A, (byte)0x37,
+            (byte)0x6A, (byte)0x43, (byte)0xB8, (byte)0xF4, (byte)0x15, (byte)0x18, (byte)0xA1, (byte)0x1C, (byte)0xC3, (byte)0x87, (byte)0xB6, (byte)0x69, (byte)0xB2, (byte)0xEE, (byte)0x65, (byte)0x86
+        };
+        assertArrayEquals(expected, keyStream);
+    }
+
+    @Test
+    @Order(2)
+    public void testCompareJca() throws GeneralSecurityException {
+        // Create engine
+        final ChaCha20CipherEngine engine = new ChaCha20CipherEngine();
+
+        // Local random generator
+        final ThreadLocalRandom localRandom = ThreadLocalRandom.current();
+
+        // Allocate arrays
+        final byte[] key = new byte[32], input = new byte[4096], expected = new byte[4096], output = new byte[4096];
+
+        for (int i = 0; i < 99991; ++i) {
+            // Set key
+            localRandom.nextBytes(key);
+            engine.setKey(key);
+            final Cipher reference = Cipher.getInstance("ChaCha20");
+            reference.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "ChaCha20"), new ChaCha20ParameterSpec(new byte[12], 0));
+
+            // Encrypt multiple chunks, the key stream must continue across calls
+            for (int j = 0; j < 3; ++j) {
+                final int length = 16 * localRandom.nextInt(1, input.length / 16);
+                localRandom.nextBytes(input);
+                reference.update(input, 0, length, expected, 0);
+                engine.encrypt(input, 0, output, 0, length);
+                assertArrayEquals(Arrays.copyOf(expected, length), Arrays.copyOf(output, length));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @Order(3)
+    @ValueSource(ints = {96, 768, 65536})
+    public void testKeyStreamWiped(final int batchSize) {
+        // Create instance
+        final FastKeyErasureRNG instance = FastKeyErasureRNG.builder().engine(FastKeyErasureRNG.Engine.CHACHA20).batchSize(batchSize).build();
+        final CipherEngine engine = getInstanceField(instance, FastKeyErasureRNG.class, CipherEngine.class, "engine");
+        assertNotNull(engine);
+
+        for (int i = 0; i < 9973; ++i) {
+            // Refill
+            instance.nextBytes(new byte[batchSize]);
+
+            // Verify
+            final int[] block = getInstanceField(engine, ChaCha20CipherEngine.class, int[].class, "block");
+            assertNotNull(block);
+            assertArrayEquals(new int[block.length], block);
+        }
+    }
+}
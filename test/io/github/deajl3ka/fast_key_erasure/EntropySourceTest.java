@@ -0,0 +1,173 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.github.fzakaria.ascii85.Ascii85;
+
+import io.github.deajl3ka.fast_key_erasure.FastKeyErasureRNG.ReseedPolicy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class EntropySourceTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @ParameterizedTest
+    @Order(1)
+    @EnumSource(FastKeyErasureRNG.Entropy.class)
+    public void testGenerateSeed(final FastKeyErasureRNG.Entropy entropy) {
+        // Create source
+        final EntropySource source = entropy.getSource();
+        System.out.println(source);
+        assertSame(source, entropy.getSource());
+
+        // Generate seeds
+        final Set<String> seeds = new HashSet<String>();
+        for (final int length : new int[] { 1, 32, 255, 256, 257, 1000 }) {
+            for (int i = 0; i < (entropy.equals(FastKeyErasureRNG.Entropy.STRONG) ? 3 : 99); ++i) {
+                final byte[] seed = new byte[length];
+                source.generateSeed(seed);
+                if (length >= 32) {
+                    final String encoded = Ascii85.encode(seed);
+                    System.out.println(encoded);
+                    assertTrue(seeds.add(encoded));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @EnumSource(FastKeyErasureRNG.Entropy.class)
+    public void testBuilderEntropy(final FastKeyErasureRNG.Entropy entropy) {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropy(entropy).build();
+        final Set<Long> values = new HashSet<Long>();
+        for (int i = 0; i < 99999; ++i) {
+            assertTrue(values.add(random.nextLong()));
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void testStubEntropy() {
+        // Create instance
+        final StubEntropySource source = new StubEntropySource();
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(source).build();
+
+        // Generate blocks
+        for (int i = 0; i < 257 * 96; ++i) {
+            random.nextBytes(new byte[12]);
+        }
+        random.reseed();
+
+        // Verify
+        assertEquals(13L, source.getCount());
+    }
+
+    @ParameterizedTest
+    @Order(4)
+    @EnumSource(FastKeyErasureRNG.Entropy.class)
+    public void testDeferredEntropy(final FastKeyErasureRNG.Entropy entropy) {
+        // A direct read may block, so the source itself never provides a seed without waiting
+        assertFalse(entropy.getSource().tryGenerateSeed(new byte[32]));
+
+        // Create instances
+        final FastKeyErasureRNG random1 = FastKeyErasureRNG.builder().entropy(entropy).healthTests(false).build();
+        final FastKeyErasureRNG random2 = FastKeyErasureRNG.builder().entropy(entropy).healthTests(false).reseedPolicy(ReseedPolicy.defaults().deferred(true)).build();
+
+        // Verify that the deferred instance takes its seeds from the harvester
+        assertSame(entropy.getSource(), getInstanceField(random1, FastKeyErasureRNG.class, EntropySource.class, "entropySource"));
+        assertSame(entropy.getHarvester(), getInstanceField(random2, FastKeyErasureRNG.class, EntropySource.class, "entropySource"));
+        assertSame(entropy.getHarvester(), getInstanceField(random2.split(), FastKeyErasureRNG.class, EntropySource.class, "entropySource"));
+
+        // With the health tests enabled, the raw output of the source (or of the harvester) is tested
+        final EntropySource tested = getInstanceField(FastKeyErasureRNG.builder().entropy(entropy).build(), FastKeyErasureRNG.class, EntropySource.class, "entropySource");
+        assertSame(entropy.getSource(), getInstanceField(tested, HealthTestedEntropySource.class, EntropySource.class, "source"));
+        final EntropySource testedDeferred = getInstanceField(FastKeyErasureRNG.builder().entropy(entropy).reseedPolicy(ReseedPolicy.defaults().deferred(true)).build(), FastKeyErasureRNG.class, EntropySource.class, "entropySource");
+        assertSame(entropy.getHarvester(), getInstanceField(testedDeferred, HealthTestedEntropySource.class, EntropySource.class, "source"));
+
+        // The harvester falls back to a non-blocking source, rather than to the (possibly blocking) strong source
+        final EntropySource fallback = getInstanceField(entropy.getHarvester(), SeedHarvester.class, EntropySource.class, "fallback");
+        assertSame(entropy.equals(FastKeyErasureRNG.Entropy.STRONG) ? FastKeyErasureRNG.Entropy.URANDOM.getSource() : entropy.getSource(), fallback);
+    }
+
+    @Test
+    @Order(5)
+    public void testReseedAllDrbg() {
+        // Create source
+        final EntropySource source = FastKeyErasureRNG.Entropy.DRBG.getSource();
+        final SecureRandom secureRandom = getInstanceField(source, SecureRandomEntropySource.class, SecureRandom.class, "secureRandom");
+        source.generateSeed(new byte[32]);
+
+        // The internal state, which would be cloned by a VM snapshot, is replaced by a freshly seeded instance
+        FastKeyErasureRNG.reseedAll();
+        final SecureRandom newRandom = getInstanceField(source, SecureRandomEntropySource.class, SecureRandom.class, "secureRandom");
+        assertNotSame(secureRandom, newRandom);
+        assertEquals(secureRandom.getAlgorithm(), newRandom.getAlgorithm());
+        assertSame(secureRandom.getProvider(), newRandom.getProvider());
+        source.generateSeed(new byte[32]);
+
+        // The strong source is not affected
+        final EntropySource strongSource = FastKeyErasureRNG.Entropy.STRONG.getSource();
+        final SecureRandom strongRandom = getInstanceField(strongSource, SecureRandomEntropySource.class, SecureRandom.class, "secureRandom");
+        FastKeyErasureRNG.reseedAll();
+        assertSame(strongRandom, getInstanceField(strongSource, SecureRandomEntropySource.class, SecureRandom.class, "secureRandom"));
+    }
+
+    @Test
+    @Order(6)
+    public void testEntropyProperty() {
+        final String property = "io.github.deajl3ka.fast_key_erasure.test.entropy";
+        try {
+            // Unset and valid values are used without a warning
+            assertTrue(captureWarnings(FastKeyErasureRNG.class, () -> {
+                assertEquals(FastKeyErasureRNG.Entropy.STRONG, FastKeyErasureRNG.enumProperty(property, FastKeyErasureRNG.Entropy.class, FastKeyErasureRNG.Entropy.STRONG));
+                System.setProperty(property, "drbg");
+                assertEquals(FastKeyErasureRNG.Entropy.DRBG, FastKeyErasureRNG.enumProperty(property, FastKeyErasureRNG.Entropy.class, FastKeyErasureRNG.Entropy.STRONG));
+            }).isEmpty());
+
+            // A typo is replaced by the default, with a warning that names the property and the value
+            System.setProperty(property, "DRGB");
+            final List<String> warnings = captureWarnings(FastKeyErasureRNG.class, () ->
+                    assertEquals(FastKeyErasureRNG.Entropy.STRONG, FastKeyErasureRNG.enumProperty(property, FastKeyErasureRNG.Entropy.class, FastKeyErasureRNG.Entropy.STRONG)));
+            assertEquals(1, warnings.size());
+            assertTrue(warnings.get(0).contains(property) && warnings.get(0).contains("DRGB"));
+        } finally {
+            System.clearProperty(property);
+        }
+    }
+}
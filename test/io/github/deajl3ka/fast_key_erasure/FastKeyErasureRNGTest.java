@@ -17,9 +17,13 @@
  */
 package io.github.deajl3ka.fast_key_erasure;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -27,23 +31,30 @@ import java.io.IOException;
 import java.io.NotSerializableException;
 import java.io.ObjectOutputStream;
 import java.nio.ByteBuffer;
+import java.security.Provider;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
 import java.util.logging.Logger;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,6 +65,8 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import com.github.fzakaria.ascii85.Ascii85;
@@ -126,9 +139,17 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
     // Instrumentation
     // ======================================================================
 
-    @SuppressWarnings("serial")
     private static FastKeyErasureRNG createInstance(final Logger logger) {
-        return new FastKeyErasureRNG() {
+        return createInstance(logger, 96);
+    }
+
+    private static FastKeyErasureRNG createInstance(final Logger logger, final int batchSize) {
+        return createInstance(logger, FastKeyErasureRNG.Engine.AES_JCA, batchSize);
+    }
+
+    @SuppressWarnings("serial")
+    private static FastKeyErasureRNG createInstance(final Logger logger, final FastKeyErasureRNG.Engine engine, final int batchSize) {
+        return new FastKeyErasureRNG(engine, batchSize) {
             private final Logger log = Objects.requireNonNull(logger, "Logger must not be null!");
 
             @Override
@@ -157,6 +178,13 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         };
     }
 
+    private static FastKeyErasureRNG[] createTwins(final int batchSize) {
+        // The constant seed would fail the health tests of the source, so they are disabled
+        final EntropySource constantSource = seed -> Arrays.fill(seed, (byte)0x5A);
+        final FastKeyErasureRNG.Builder builder = FastKeyErasureRNG.builder().entropySource(constantSource).healthTests(false).batchSize(batchSize);
+        return new FastKeyErasureRNG[] { builder.build(), builder.build() };
+    }
+
     // ======================================================================
     // Test methods
     // ======================================================================
@@ -317,7 +345,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         for (int i = 0; i < 4999999; ++i) {
             // Generate value
             final boolean boolValue = instance.nextBoolean();
-            ++totalBytes;
+            totalBytes += (i % Long.SIZE == 0) ? Long.BYTES : 0;
             System.out.println(Boolean.toString(boolValue));
 
             // Update stats
@@ -337,7 +365,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
         
         // Verify stats
-        assertEquals(totalBytes, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
     }
@@ -389,7 +417,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
 
         // Verify stats
-        assertEquals(totalBytes / 4, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
     }
@@ -421,7 +449,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
 
         // Verify stats
-        assertEquals(totalBytes / 4, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
     }
@@ -453,7 +481,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
 
         // Verify stats
-        assertEquals(totalBytes / 4, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
     }
@@ -485,7 +513,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
 
         // Verify stats
-        assertEquals(totalBytes / 4, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
     }
@@ -694,7 +722,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
 
         // Verify stats
-        assertEquals(totalBytes / 4, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
     }
@@ -730,7 +758,7 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
         System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
 
         // Verify stats
-        assertEquals(totalBytes / 4, getStats("next"));
+        assertEquals(0L, getStats("next"));
         assertEquals(expectedBlocks, getStats("nextBlock"));
         assertEquals(expectedBlocks + ((expectedBlocks + 256) / 257), getStats("setSeed"));
     }
@@ -753,4 +781,850 @@ public class FastKeyErasureRNGTest extends AbstractUnitTest {
             }
         });
     }
+
+    @ParameterizedTest
+    @Order(15)
+    @ValueSource(ints = {768, 4096, 65536})
+    public void testNextBytesBatch(final int batchSize) {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger, batchSize);
+        assertEquals(batchSize, instance.getBatchSize());
+
+        // Accumulate total number of bytes
+        long totalBytes = 0L;
+
+        // Initialize set
+        final HashSet<String> hashSet = new HashSet<String>();
+
+        for (int i = 0; i < 4999999; ++i) {
+            // Generate array
+            final byte[] array = instance.nextBytes(97);
+            totalBytes += array.length;
+            assertEquals(97, array.length);
+
+            // Convert to ASCII
+            final String ascii = Ascii85.encode(array);
+            System.out.println(ascii);
+
+            // Add to the set
+            assertTrue(hashSet.add(ascii));
+        }
+
+        // Print stats
+        final long expectedBlocks = (totalBytes + batchSize - 1) / batchSize;
+        System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+        assertEquals(expectedBlocks, getStats("nextBlock"));
+        assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
+    }
+
+    @ParameterizedTest
+    @Order(16)
+    @ValueSource(ints = {0, 95, 97, 100, 1048577})
+    public void testInvalidBatchSize(final int batchSize) {
+        assertThrows(IllegalArgumentException.class, () -> FastKeyErasureRNG.withBatchSize(batchSize));
+    }
+
+    @ParameterizedTest
+    @Order(17)
+    @ValueSource(ints = {96, 768, 65536})
+    public void testNextBytesLarge(final int batchSize) {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger, batchSize);
+
+        // Local random generator
+        final ThreadLocalRandom localRandom = ThreadLocalRandom.current();
+
+        // Allocate array
+        final byte[] array = new byte[1048576];
+        final long[] byteStats = new long[256];
+
+        // Accumulate total number of bytes
+        long totalBytes = 0L;
+
+        // Initialize set
+        final HashSet<String> hashSet = new HashSet<String>();
+
+        for (int i = 0; i < 997; ++i) {
+            final int offset = localRandom.nextInt(0, 4096);
+            final int length = localRandom.nextInt(4096, array.length - offset);
+
+            // Generate array
+            Arrays.fill(array, (byte)0);
+            instance.nextBytes(array, offset, length);
+            totalBytes += length;
+
+            // Verify
+            for (int check = 0; check < offset; ++check) {
+                assertEquals((byte)0, array[check]);
+            }
+            for (int check = offset; check < offset + length; ++check) {
+                ++byteStats[array[check] & 0xFF];
+            }
+            for (int check = offset + length; check < array.length; ++check) {
+                assertEquals((byte)0, array[check]);
+            }
+
+            // Add to the set
+            for (int pos = offset; pos + 16 <= offset + length; pos += 4093) {
+                assertTrue(hashSet.add(Ascii85.encode(Arrays.copyOfRange(array, pos, pos + 16))));
+            }
+        }
+
+        // Compute ration of most/less frequent values
+        final long minFrequency = Arrays.stream(byteStats).min().getAsLong();
+        final long maxFrequency = Arrays.stream(byteStats).max().getAsLong();
+        final double ratio = minFrequency / (double)maxFrequency;
+        System.out.printf("%010d / %010d [%.5f]%n", minFrequency, maxFrequency, ratio);
+        assertTrue(ratio >= 0.99);
+
+        // Verify stats (direct refills must go through nextBlock() too)
+        final long expectedBlocks = (totalBytes + batchSize - 1) / batchSize;
+        assertEquals(0L, getStats("next"));
+        assertEquals(expectedBlocks, getStats("nextBlock"));
+
+        // Verify that the next key, which follows the output in the “batch” mode, has been wiped
+        final byte[] outData = getInstanceField(instance, FastKeyErasureRNG.class, byte[].class, "outData");
+        assertArrayEquals(new byte[outData.length - batchSize], Arrays.copyOfRange(outData, batchSize, outData.length));
+    }
+
+    @Test
+    @Order(18)
+    public void testNextMixed() {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger);
+
+        // Initialize set
+        final HashSet<Long> hashSet = new HashSet<Long>();
+
+        // Accumulate total number of bytes
+        long totalBytes = 0L, expectedNext = 0L;
+
+        for (int i = 0; i < 4999999; ++i) {
+            // Misalign the read position
+            final int skip = i % 8;
+            for (int j = 0; j < skip; ++j) {
+                instance.next(Byte.SIZE);
+                ++expectedNext;
+            }
+            totalBytes += skip;
+
+            // Generate values
+            final long longValue = instance.nextLong();
+            final int intValue = instance.nextInt();
+            final float fltValue = instance.nextFloat();
+            totalBytes += Long.BYTES + Integer.BYTES + Float.BYTES;
+            System.out.printf("%s %s %.8f%n", toHexString(longValue, 16), toHexString(intValue, 8), fltValue);
+
+            // Verify range
+            assertTrue((fltValue >= 0.0f) && (fltValue < 1.0f));
+
+            // Add to the set
+            assertTrue(hashSet.add(longValue));
+        }
+
+        // Print stats
+        final long expectedBlocks = (totalBytes + 95) / 96;
+        System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
+
+        // Verify stats
+        assertEquals(expectedNext, getStats("next"));
+        assertEquals(expectedBlocks, getStats("nextBlock"));
+        assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
+    }
+
+    @ParameterizedTest
+    @Order(19)
+    @ValueSource(booleans = {false, true})
+    public void testNextBytesBuffer(final boolean direct) {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger);
+
+        // Allocate buffer
+        final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(128) : ByteBuffer.allocate(128);
+        final byte[] array = new byte[buffer.capacity()];
+
+        // Initialize set
+        final HashSet<String> hashSet = new HashSet<String>();
+
+        // Accumulate total number of bytes
+        long totalBytes = 0L;
+
+        for (int i = 0; i < 4999999; ++i) {
+            final int position = i % 11, limit = buffer.capacity() - (i % 13);
+
+            // Fill buffer
+            buffer.clear();
+            buffer.put(new byte[buffer.capacity()]);
+            buffer.limit(limit).position(position);
+            instance.nextBytes(buffer);
+            totalBytes += limit - position;
+            assertEquals(limit, buffer.position());
+
+            // Convert to ASCII
+            buffer.clear();
+            buffer.get(array);
+            final String ascii = Ascii85.encode(Arrays.copyOfRange(array, position, limit));
+            System.out.println(ascii);
+
+            // Verify
+            for (int check = 0; check < position; ++check) {
+                assertEquals((byte)0, array[check]);
+            }
+            for (int check = limit; check < array.length; ++check) {
+                assertEquals((byte)0, array[check]);
+            }
+
+            // Add to the set
+            assertTrue(hashSet.add(ascii));
+        }
+
+        // Print stats
+        final long expectedBlocks = (totalBytes + 95) / 96;
+        System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+        assertEquals(expectedBlocks, getStats("nextBlock"));
+        assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
+    }
+
+    @Test
+    @Order(20)
+    public void testNextBytesScatter() {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger);
+
+        // Allocate arrays
+        final byte[][] arrays = new byte[9973][];
+        final ByteBuffer[] buffers = new ByteBuffer[arrays.length];
+        for (int i = 0; i < arrays.length; ++i) {
+            arrays[i] = new byte[12 + (i % 5)];
+            buffers[i] = ((i % 2) == 0) ? ByteBuffer.allocateDirect(arrays[i].length) : ByteBuffer.allocate(arrays[i].length);
+        }
+
+        // Initialize set
+        final HashSet<String> hashSet = new HashSet<String>();
+
+        // Accumulate total number of bytes
+        long totalBytes = 0L;
+
+        for (int i = 0; i < 257; ++i) {
+            // Generate arrays
+            instance.nextBytes(arrays);
+            for (final byte[] array : arrays) {
+                totalBytes += array.length;
+                assertTrue(hashSet.add(Ascii85.encode(array)));
+            }
+
+            // Generate buffers
+            for (final ByteBuffer buffer : buffers) {
+                buffer.clear();
+            }
+            instance.nextBytes(buffers);
+            for (final ByteBuffer buffer : buffers) {
+                assertEquals(0, buffer.remaining());
+                final byte[] array = new byte[buffer.capacity()];
+                buffer.flip().get(array);
+                totalBytes += array.length;
+                assertTrue(hashSet.add(Ascii85.encode(array)));
+            }
+        }
+
+        // Print stats
+        final long expectedBlocks = (totalBytes + 95) / 96;
+        System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+        assertEquals(expectedBlocks, getStats("nextBlock"));
+        assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance.nextBytes(new byte[][] { new byte[1], null }));
+        assertThrows(IllegalArgumentException.class, () -> instance.nextBytes(new ByteBuffer[] { ByteBuffer.allocate(1).asReadOnlyBuffer() }));
+    }
+
+    @ParameterizedTest
+    @Order(21)
+    @CsvSource({"AES_JCA, 96", "AES_JCA, 4096", "AES_JAVA, 96", "AES_JAVA, 4096", "CHACHA20, 96", "CHACHA20, 768"})
+    public void testNextBytesEngine(final FastKeyErasureRNG.Engine engine, final int batchSize) {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger, engine, batchSize);
+
+        // Accumulate total number of bytes
+        long totalBytes = 0L;
+
+        // Initialize arrays
+        final HashSet<String> hashSet = new HashSet<String>();
+        final long[] byteStats = new long[256];
+
+        for (int i = 0; i < 4999999; ++i) {
+            // Generate array
+            final byte[] array = instance.nextBytes(73);
+            totalBytes += array.length;
+
+            // Update stats
+            for (final byte value : array) {
+                ++byteStats[value & 0xFF];
+            }
+
+            // Convert to ASCII
+            final String ascii = Ascii85.encode(array);
+            System.out.println(ascii);
+
+            // Add to the set
+            assertTrue(hashSet.add(ascii));
+        }
+
+        // Compute ration of most/less frequent values
+        final long minFrequency = Arrays.stream(byteStats).min().getAsLong();
+        final long maxFrequency = Arrays.stream(byteStats).max().getAsLong();
+        final double ratio = minFrequency / (double)maxFrequency;
+        System.out.printf("%010d / %010d [%.5f]%n", minFrequency, maxFrequency, ratio);
+        assertTrue(ratio >= 0.99);
+
+        // Print stats
+        final long expectedBlocks = (totalBytes + batchSize - 1) / batchSize;
+        System.out.printf("Total bytes generated: %d (total blocks generated: %d)%n", totalBytes, expectedBlocks);
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+        assertEquals(expectedBlocks, getStats("nextBlock"));
+        assertEquals((expectedBlocks + 256) / 257, getStats("setSeed"));
+    }
+
+    @ParameterizedTest
+    @Order(22)
+    @EnumSource(FastKeyErasureRNG.Engine.class)
+    public void testCurrentEngine(final FastKeyErasureRNG.Engine engine) throws InterruptedException {
+        // Get instance for the current thread
+        final FastKeyErasureRNG instance = FastKeyErasureRNG.current(engine);
+        assertNotNull(instance);
+        assertSame(instance, FastKeyErasureRNG.current(engine));
+        if (engine == FastKeyErasureRNG.Engine.AES_JCA) {
+            assertSame(FastKeyErasureRNG.current(), instance);
+        } else {
+            assertNotSame(FastKeyErasureRNG.current(), instance);
+        }
+
+        // Get instance for another thread
+        final FastKeyErasureRNG[] otherInstance = new FastKeyErasureRNG[1];
+        final Thread thread = new Thread(() -> otherInstance[0] = FastKeyErasureRNG.current(engine));
+        thread.start();
+        thread.join();
+        assertNotNull(otherInstance[0]);
+        assertNotSame(instance, otherInstance[0]);
+
+        // Generate value
+        System.out.println(toHexString(instance.nextLong(), 16));
+    }
+
+    @ParameterizedTest
+    @Order(23)
+    @ValueSource(strings = {"SunJCE", "auto"})
+    public void testProvider(final String provider) {
+        // Create instances
+        final FastKeyErasureRNG instance = FastKeyErasureRNG.builder().provider(provider).build();
+        final FastKeyErasureRNG batchInstance = FastKeyErasureRNG.builder().provider(provider).batchSize(4096).build();
+
+        // Initialize set
+        final HashSet<Long> hashSet = new HashSet<Long>();
+
+        for (int i = 0; i < 4999999; ++i) {
+            // Generate values
+            final long longValue = instance.nextLong(), batchValue = batchInstance.nextLong();
+            System.out.printf("%s %s%n", toHexString(longValue, 16), toHexString(batchValue, 16));
+
+            // Add to the set
+            assertTrue(hashSet.add(longValue));
+            assertTrue(hashSet.add(batchValue));
+        }
+
+        // Verify the selected providers
+        for (final boolean counterMode : new boolean[] { false, true }) {
+            final Provider fastestProvider = JcaCipherEngine.selectFastestProvider(counterMode);
+            assertNotNull(fastestProvider);
+            System.out.printf("Fastest provider (counterMode=%s): %s%n", counterMode, fastestProvider.getName());
+        }
+
+        // Unknown provider
+        assertThrows(RuntimeException.class, () -> FastKeyErasureRNG.builder().provider("NoSuchProvider").build());
+    }
+
+    @ParameterizedTest
+    @Order(24)
+    @ValueSource(ints = { 96, 4096 })
+    public void testAddEntropy(final int batchSize) {
+        // Create two instances with the same (constant) seed
+        final FastKeyErasureRNG[] twins = createTwins(batchSize);
+        final FastKeyErasureRNG instance1 = twins[0], instance2 = twins[1];
+
+        // Same output
+        final byte[] buffer1 = new byte[batchSize], buffer2 = new byte[batchSize];
+        for (int i = 0; i < 3; ++i) {
+            instance1.nextBytes(buffer1);
+            instance2.nextBytes(buffer2);
+            assertTrue(Arrays.equals(buffer1, buffer2));
+        }
+
+        // Adding the same entropy to both instances keeps them in sync
+        instance1.addEntropy(0x0123456789ABCDEFL);
+        instance2.addEntropy(0x0123456789ABCDEFL);
+        instance1.nextBytes(buffer1);
+        instance2.nextBytes(buffer2);
+        assertTrue(Arrays.equals(buffer1, buffer2));
+
+        // Adding entropy to only one instance does not affect the buffered output, but all later blocks
+        final long value1 = instance1.nextLong(), value2 = instance2.nextLong();
+        assertEquals(value1, value2);
+        instance1.addEntropy(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+        final byte[] rest1 = new byte[batchSize - Long.BYTES], rest2 = new byte[batchSize - Long.BYTES];
+        instance1.nextBytes(rest1);
+        instance2.nextBytes(rest2);
+        assertTrue(Arrays.equals(rest1, rest2));
+        for (int i = 0; i < 3; ++i) {
+            instance1.nextBytes(buffer1);
+            instance2.nextBytes(buffer2);
+            assertFalse(Arrays.equals(buffer1, buffer2));
+        }
+
+        // The accumulated entropy is also folded into the next re-seed
+        instance1.reseed();
+        instance2.reseed();
+        instance1.nextBytes(buffer1);
+        instance2.nextBytes(buffer2);
+        assertFalse(Arrays.equals(buffer1, buffer2));
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance1.addEntropy(null));
+        assertThrows(IllegalArgumentException.class, () -> instance1.addEntropy(new byte[8], 4, 5));
+    }
+
+    @Test
+    @Order(25)
+    public void testStreams() {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger);
+        final RandomGenerator generator = instance;
+
+        // Unbounded streams
+        assertEquals(99999L, generator.ints(99999L).count());
+        assertEquals(99999L, instance.longs().limit(99999L).distinct().count());
+        assertTrue(instance.doubles(99999L).allMatch(value -> (value >= 0.0) && (value < 1.0)));
+
+        // Bounded streams
+        final int[] counts = new int[12];
+        instance.ints(999999L, -5, 7).forEach(value -> ++counts[value + 5]);
+        assertTrue(Arrays.stream(counts).allMatch(count -> Math.abs(count - 83333) < 2500));
+        assertTrue(instance.ints(99999L, Integer.MIN_VALUE, Integer.MAX_VALUE).allMatch(value -> value != Integer.MAX_VALUE));
+        assertTrue(instance.longs(99999L, -3L, 1000000000000L).allMatch(value -> (value >= -3L) && (value < 1000000000000L)));
+        assertTrue(instance.doubles(99999L, -2.5, 1.5).allMatch(value -> (value >= -2.5) && (value < 1.5)));
+
+        // Parallel streams are backed by independent instances
+        assertEquals(4999999L, instance.longs(4999999L).parallel().distinct().count());
+        assertEquals(4999999L, instance.ints(4999999L, 0, 100).parallel().filter(value -> (value >= 0) && (value < 100)).count());
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance.ints(-1L));
+        assertThrows(IllegalArgumentException.class, () -> instance.ints(7, 7));
+        assertThrows(IllegalArgumentException.class, () -> instance.longs(10L, 5L));
+        assertThrows(IllegalArgumentException.class, () -> instance.doubles(0.0, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> instance.doubles(1.0, Double.NaN));
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @ParameterizedTest
+    @Order(26)
+    @ValueSource(ints = { 96, 4096 })
+    public void testBulkFill(final int batchSize) {
+        // Create two instances with the same (constant) seed
+        final FastKeyErasureRNG[] twins = createTwins(batchSize);
+        final FastKeyErasureRNG instance1 = twins[0], instance2 = twins[1];
+
+        // Bulk fills produce the same sequence as the single-value methods, including across buffer boundaries
+        instance1.nextBytes(new byte[3]);
+        instance2.nextBytes(new byte[3]);
+        final long[] longs = new long[999];
+        instance1.nextLongs(longs);
+        for (int i = 0; i < longs.length; ++i) {
+            assertEquals(instance2.nextLong(), longs[i]);
+        }
+        final int[] ints = new int[999];
+        instance1.nextInts(ints, 7, 901);
+        assertEquals(0, ints[6]);
+        for (int i = 7; i < 908; ++i) {
+            assertEquals(instance2.nextInt(), ints[i]);
+        }
+        assertEquals(0, ints[908]);
+        final double[] doubles = new double[999];
+        instance1.nextDoubles(doubles);
+        for (int i = 0; i < doubles.length; ++i) {
+            assertEquals(instance2.nextDouble(), doubles[i]);
+        }
+        final float[] floats = new float[999];
+        instance1.nextFloats(floats);
+        for (int i = 0; i < floats.length; ++i) {
+            assertEquals(instance2.nextFloat(), floats[i]);
+        }
+
+        // Bounded fills
+        final int[] counts = new int[12];
+        final int[] values = new int[999999];
+        instance1.nextInts(values, 0, values.length, -5, 7);
+        Arrays.stream(values).forEach(value -> ++counts[value + 5]);
+        assertTrue(Arrays.stream(counts).allMatch(count -> Math.abs(count - 83333) < 2500));
+        instance1.nextLongs(longs, 0, longs.length, -3L, 1000000000000L);
+        assertTrue(Arrays.stream(longs).allMatch(value -> (value >= -3L) && (value < 1000000000000L)));
+        instance1.nextDoubles(doubles, 0, doubles.length, -2.5, 1.5);
+        assertTrue(Arrays.stream(doubles).allMatch(value -> (value >= -2.5) && (value < 1.5)));
+        instance1.nextFloats(floats, 0, floats.length, 1.0f, 1.5f);
+        for (final float value : floats) {
+            assertTrue((value >= 1.0f) && (value < 1.5f));
+        }
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextInts(null));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextLongs(longs, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextDoubles(doubles, 998, 2));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextFloats(floats, 0, floats.length, 1.0f, 1.0f));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextInts(ints, 0, ints.length, 7, 7));
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @ParameterizedTest
+    @Order(27)
+    @ValueSource(ints = { 96, 4096 })
+    public void testBoundedIntegers(final int batchSize) {
+        // Create two instances with the same (constant) seed
+        final FastKeyErasureRNG[] twins = createTwins(batchSize);
+        final FastKeyErasureRNG instance1 = twins[0], instance2 = twins[1];
+
+        // Only as many bytes as the range needs are consumed
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        for (int i = 0; i < 9999; ++i) {
+            assertEquals(0, instance1.nextInt(1));
+            assertEquals(42L, instance1.nextLong(42L, 43L));
+            instance2.nextBytes(buffer.clear().limit(12));
+            assertEquals(buffer.get(0) & 0xFF, instance1.nextInt(256));
+            assertEquals(buffer.getShort(1) & 0xFFFF, instance1.nextInt(-32768, 32768) + 32768);
+            assertEquals(buffer.getInt(3) & 0xFFFFFFFFL, instance1.nextLong(1L << 32));
+            assertEquals(buffer.getLong(4) & ((1L << 40) - 1L), instance1.nextLong(1L << 40));
+        }
+
+        // Uniform distribution (including ranges that need rejection sampling)
+        final int[] counts = new int[12];
+        for (int i = 0; i < 999999; ++i) {
+            ++counts[instance1.nextInt(-5, 7) + 5];
+        }
+        assertTrue(Arrays.stream(counts).allMatch(count -> Math.abs(count - 83333) < 2500));
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < 999999; ++i) {
+            ++counts[(int) (instance1.nextLong(3L << 61) >>> 61)];
+        }
+        assertTrue(Arrays.stream(counts, 0, 3).allMatch(count -> Math.abs(count - 333333) < 5000));
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < 999999; ++i) {
+            ++counts[instance1.nextInt(129) % 3];
+        }
+        assertTrue(Arrays.stream(counts, 0, 3).allMatch(count -> Math.abs(count - 333333) < 5000));
+
+        // Full and nearly full ranges
+        for (int i = 0; i < 99999; ++i) {
+            assertTrue(instance1.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE) != Integer.MAX_VALUE);
+            assertTrue(instance1.nextLong(Long.MIN_VALUE, Long.MAX_VALUE) != Long.MAX_VALUE);
+            assertTrue(instance1.nextInt(Integer.MAX_VALUE) >= 0);
+            final long value = instance1.nextLong(-3L, 1000000000000L);
+            assertTrue((value >= -3L) && (value < 1000000000000L));
+        }
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextLong(-1L));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextInt(7, 7));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextLong(10L, 5L));
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @ParameterizedTest
+    @Order(28)
+    @ValueSource(ints = { 96, 4096 })
+    public void testBitReservoir(final int batchSize) {
+        // Create two instances with the same (constant) seed
+        final FastKeyErasureRNG[] twins = createTwins(batchSize);
+        final FastKeyErasureRNG instance1 = twins[0], instance2 = twins[1];
+
+        // Each 64-bit word of the key stream serves 64 boolean values
+        for (int i = 0; i < 9999; ++i) {
+            final long word = instance2.nextLong();
+            for (int j = 0; j < Long.SIZE; ++j) {
+                assertEquals(((word >>> j) & 1L) != 0L, instance1.nextBoolean());
+            }
+        }
+
+        // Small draws share the reservoir, remaining bits that are too few to serve a request are dropped
+        for (int i = 0; i < 9999; ++i) {
+            final long word = instance2.nextLong();
+            for (int j = 0; j < 21; ++j) {
+                assertEquals((int) ((word >>> (3 * j)) & 7L), instance1.next(3));
+            }
+        }
+        final long word = instance2.nextLong();
+        assertEquals((int) (word & 0x7FL), instance1.next(7));
+        assertEquals(instance2.nextInt(), instance1.nextInt());
+        assertEquals((int) ((word >>> 7) & 0x3FL), instance1.next(6));
+
+        // The reservoir is wiped on re-seed
+        instance1.nextBoolean();
+        instance1.reseed();
+        instance2.reseed();
+        assertEquals(instance2.nextLong() & 1L, instance1.nextBoolean() ? 1L : 0L);
+
+        // The reservoir is wiped on a re-seed after reseedAll(), even if the refill bypasses the buffer
+        instance1.nextBytes(new byte[batchSize - 8]);
+        instance2.nextBytes(new byte[batchSize - 8]);
+        assertEquals(Long.SIZE - 1, getInstanceField(instance1, FastKeyErasureRNG.class, Integer.class, "bitCount"));
+        FastKeyErasureRNG.reseedAll();
+        instance1.nextBytes(new byte[24576]);
+        instance2.nextBytes(new byte[24576]);
+        assertEquals(0, getInstanceField(instance1, FastKeyErasureRNG.class, Integer.class, "bitCount"));
+        assertEquals(instance2.nextLong() & 1L, instance1.nextBoolean() ? 1L : 0L);
+        assertEquals(Long.SIZE - 1, getInstanceField(instance1, FastKeyErasureRNG.class, Integer.class, "bitCount"));
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @ParameterizedTest
+    @Order(29)
+    @ValueSource(ints = { 96, 4096 })
+    public void testFloatingPoint(final int batchSize) {
+        // Create two instances with the same (constant) seed
+        final FastKeyErasureRNG[] twins = createTwins(batchSize);
+        final FastKeyErasureRNG instance1 = twins[0], instance2 = twins[1];
+
+        // Each value is converted from exactly one word of the key stream
+        for (int i = 0; i < 9999; ++i) {
+            assertEquals((instance2.nextLong() >>> 11) * 0x1.0p-53, instance1.nextDouble());
+            assertEquals((instance2.nextInt() >>> 8) * 0x1.0p-24f, instance1.nextFloat());
+            assertEquals((instance2.nextLong() >>> 11) * 0x1.0p-53 * 4.0 - 1.0, instance1.nextDouble(-1.0, 3.0));
+            assertEquals((instance2.nextInt() >>> 8) * 0x1.0p-24f * 8.0f, instance1.nextFloat(8.0f));
+        }
+
+        // Ranges
+        for (int i = 0; i < 99999; ++i) {
+            final double value1 = instance1.nextDouble(-2.5, 1.5);
+            assertTrue((value1 >= -2.5) && (value1 < 1.5));
+            final double value2 = instance1.nextDouble(Double.MIN_VALUE);
+            assertTrue((value2 >= 0.0) && (value2 < Double.MIN_VALUE));
+            final float value3 = instance1.nextFloat(1.0f, 1.5f);
+            assertTrue((value3 >= 1.0f) && (value3 < 1.5f));
+        }
+
+        // Gaussian distribution
+        double sum = 0.0, sumSquares = 0.0;
+        for (int i = 0; i < 999999; ++i) {
+            final double value = instance1.nextGaussian();
+            sum += value;
+            sumSquares += value * value;
+        }
+        assertTrue(Math.abs(sum / 999999.0) < 0.01);
+        assertTrue(Math.abs(sumSquares / 999999.0 - 1.0) < 0.01);
+
+        // Full-precision mode
+        final FastKeyErasureRNG instance3 = FastKeyErasureRNG.builder().batchSize(batchSize).fullPrecision(true).build();
+        assertTrue(instance3.isFullPrecision());
+        assertFalse(instance1.isFullPrecision());
+        int fineValues = 0;
+        double total = 0.0;
+        for (int i = 0; i < 999999; ++i) {
+            final double value = instance3.nextDouble();
+            assertTrue((value >= 0.0) && (value < 1.0));
+            total += value;
+            if ((value < 0x1.0p-10) && (value * 0x1.0p53 != Math.rint(value * 0x1.0p53))) {
+                ++fineValues;
+            }
+        }
+        assertTrue(Math.abs(total / 999999.0 - 0.5) < 0.005);
+        assertTrue(fineValues > 500);
+        final double[] doubles = new double[999];
+        instance3.nextDoubles(doubles);
+        assertTrue(Arrays.stream(doubles).allMatch(value -> (value >= 0.0) && (value < 1.0)));
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextDouble(0.0));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextDouble(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextDouble(-Double.MAX_VALUE, Double.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextFloat(-1.0f));
+        assertThrows(IllegalArgumentException.class, () -> instance1.nextFloat(2.0f, 1.0f));
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @Test
+    @Order(30)
+    public void testShuffle() {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger);
+
+        // Each permutation of a small array is equally likely
+        final SortedMap<String, Integer> permutations = new TreeMap<String, Integer>();
+        for (int i = 0; i < 479999; ++i) {
+            final int[] array = new int[] { 0, 1, 2, 3 };
+            instance.shuffle(array);
+            permutations.merge(Arrays.toString(array), 1, Integer::sum);
+        }
+        assertEquals(24, permutations.size());
+        assertTrue(permutations.values().stream().allMatch(count -> Math.abs(count - 20000) < 1000));
+
+        // Each value is equally likely at each position, for all element types
+        final int[][] positions = new int[10][10];
+        final List<Integer> arrayList = new ArrayList<Integer>(), linkedList = new LinkedList<Integer>();
+        for (int i = 0; i < 10; ++i) {
+            arrayList.add(i);
+            linkedList.add(i);
+        }
+        for (int i = 0; i < 24999; ++i) {
+            final long[] longs = new long[] { 0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L };
+            final Object[] objects = new Object[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+            instance.shuffle(longs);
+            instance.shuffle(objects);
+            instance.shuffle(arrayList);
+            instance.shuffle(linkedList);
+            for (int j = 0; j < 10; ++j) {
+                ++positions[(int) longs[j]][j];
+                ++positions[(Integer) objects[j]][j];
+                ++positions[arrayList.get(j)][j];
+                ++positions[linkedList.get(j)][j];
+            }
+        }
+        assertTrue(Arrays.stream(positions).flatMapToInt(Arrays::stream).allMatch(count -> Math.abs(count - 9999.6) < 600));
+
+        // Large permutations
+        final int[] permutation = instance.permutation(999983);
+        assertNotEquals(0, permutation[0] + permutation[1] + permutation[2]);
+        Arrays.sort(permutation);
+        for (int i = 0; i < permutation.length; ++i) {
+            assertEquals(i, permutation[i]);
+        }
+        assertEquals(0, instance.permutation(0).length);
+        assertEquals(0, instance.permutation(1)[0]);
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @ParameterizedTest
+    @Order(31)
+    @CsvSource({ "3, 100", "10, 40", "25, 100", "26, 100", "70, 100", "100, 100", "0, 5" })
+    public void testSample(final int count, final int size) {
+        // Create instance
+        final FastKeyErasureRNG instance = createInstance(logger);
+
+        // Values are distinct and each value is equally likely to be included
+        final int[] included = new int[size], first = new int[size];
+        for (int i = 0; i < 19999; ++i) {
+            final int[] values = instance.sample(count, size);
+            assertEquals(count, values.length);
+            assertEquals(count, Arrays.stream(values).distinct().count());
+            for (final int value : values) {
+                ++included[value];
+            }
+            if (count > 0) {
+                ++first[values[0]];
+            }
+        }
+        final double expected = 19999.0 * count / size;
+        assertTrue(Arrays.stream(included).allMatch(value -> Math.abs(value - expected) <= 6.0 * Math.sqrt(expected) + 1.0));
+
+        // The order is random, too
+        if (count > 0) {
+            final double expectedFirst = 19999.0 / size;
+            assertTrue(Arrays.stream(first).allMatch(value -> Math.abs(value - expectedFirst) <= 6.0 * Math.sqrt(expectedFirst) + 1.0));
+        }
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> instance.sample(size + 1, size));
+        assertThrows(IllegalArgumentException.class, () -> instance.sample(-1, size));
+        assertThrows(IllegalArgumentException.class, () -> instance.permutation(-1));
+        assertThrows(IllegalArgumentException.class, () -> instance.shuffle((int[]) null));
+        assertThrows(IllegalArgumentException.class, () -> instance.shuffle((List<?>) null));
+
+        // Verify stats
+        assertEquals(0L, getStats("next"));
+    }
+
+    @Test
+    @Order(32)
+    public void testEngineProperty() {
+        final String property = "io.github.deajl3ka.fast_key_erasure.test.engine";
+        try {
+            // Unset and valid values are used without a warning
+            assertTrue(captureWarnings(FastKeyErasureRNG.class, () -> {
+                assertEquals(FastKeyErasureRNG.Engine.AES_JCA, FastKeyErasureRNG.enumProperty(property, FastKeyErasureRNG.Engine.class, FastKeyErasureRNG.Engine.AES_JCA));
+                System.setProperty(property, " chacha20 ");
+                assertEquals(FastKeyErasureRNG.Engine.CHACHA20, FastKeyErasureRNG.enumProperty(property, FastKeyErasureRNG.Engine.class, FastKeyErasureRNG.Engine.AES_JCA));
+            }).isEmpty());
+
+            // An invalid value is replaced by the default, with a warning that names the property and the value
+            System.setProperty(property, "AES_JAVAA");
+            final List<String> warnings = captureWarnings(FastKeyErasureRNG.class, () ->
+                    assertEquals(FastKeyErasureRNG.Engine.AES_JCA, FastKeyErasureRNG.enumProperty(property, FastKeyErasureRNG.Engine.class, FastKeyErasureRNG.Engine.AES_JCA)));
+            assertEquals(1, warnings.size());
+            assertTrue(warnings.get(0).contains(property) && warnings.get(0).contains("AES_JAVAA"));
+        } finally {
+            System.clearProperty(property);
+        }
+    }
+
+    @Test
+    @Order(33)
+    public void testParallelStreams() throws Exception {
+        // Use a dedicated pool, so that the streams are processed in parallel regardless of the number of processors
+        final ForkJoinPool pool = new ForkJoinPool(8);
+        try {
+            for (int i = 0; i < 5; ++i) {
+                final Thread[] owner = new Thread[1];
+                final Set<Thread> threads = pool.submit(() -> runParallelStreams(owner)).get();
+                assertEquals(Collections.singleton(owner[0]), threads);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static Set<Thread> runParallelStreams(final Thread[] owner) {
+        // Create an instance that records the threads by which it is refilled
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final FastKeyErasureRNG instance = new FastKeyErasureRNG(FastKeyErasureRNG.Engine.AES_JCA, 96) {
+            @Override
+            protected final void nextBlock() {
+                threads.add(Thread.currentThread());
+                super.nextBlock();
+            }
+        };
+        owner[0] = Thread.currentThread();
+        instance.nextInt();
+
+        // The streams are processed in parallel, but the caller's instance is never touched by another thread
+        final LongAdder count = new LongAdder();
+        instance.longs(999999L).parallel().forEach(value -> count.increment());
+        instance.ints(999999L, 0, 100).parallel().forEach(value -> count.increment());
+        instance.doubles(999999L).parallel().forEach(value -> count.increment());
+        assertEquals(3L * 999999L, count.sum());
+
+        // The caller's instance can still be used by the owning thread
+        instance.nextBytes(new byte[999]);
+        return threads;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class HealthMonitorTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testRandomSeeds() {
+        final HealthMonitor monitor = new HealthMonitor();
+        final byte[] seed = new byte[32];
+        for (int i = 0; i < 999999; ++i) {
+            ThreadLocalRandom.current().nextBytes(seed);
+            monitor.testSeed(seed);
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void testRepetitionCount() {
+        final HealthMonitor monitor = new HealthMonitor();
+
+        // Repetitions below the cut-off, also across seed boundaries
+        monitor.testSeed(new byte[] { 1, 2, 2, 2, 2, 2, 3, 7, 7 });
+        monitor.testSeed(new byte[] { 7, 7, 7, 4 });
+
+        // Repetitions reaching the cut-off
+        final byte[] seed = new byte[32];
+        Arrays.fill(seed, 8, 8 + HealthMonitor.RCT_CUTOFF, (byte)0x42);
+        for (int i = 0; i < 8; ++i) {
+            seed[i] = (byte) i;
+        }
+        assertThrows(RuntimeException.class, () -> monitor.testSeed(seed));
+    }
+
+    @Test
+    @Order(3)
+    public void testAdaptiveProportion() {
+        final HealthMonitor monitor = new HealthMonitor();
+
+        // The first sample of the window occurs too often, but never repeatedly
+        final byte[] seed = new byte[HealthMonitor.APT_WINDOW];
+        for (int i = 0; i < seed.length; ++i) {
+            seed[i] = (byte) (((i % 2) == 0) ? 0x42 : (i | 1));
+        }
+        assertThrows(RuntimeException.class, () -> monitor.testSeed(seed));
+
+        // The first sample occurs once less than the cut-off in each window
+        final HealthMonitor monitor2 = new HealthMonitor();
+        final byte[] seed2 = new byte[HealthMonitor.APT_WINDOW];
+        for (int i = 0; i < seed2.length; ++i) {
+            seed2[i] = (byte) ((((i % 2) == 0) && (i < 2 * (HealthMonitor.APT_CUTOFF - 1))) ? 0x42 : (i | 1));
+        }
+        for (int i = 0; i < 3; ++i) {
+            monitor2.testSeed(seed2);
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void testStuckOutput() {
+        final HealthMonitor monitor = new HealthMonitor();
+        final byte[] block = new byte[96];
+        for (int i = 0; i < 9999; ++i) {
+            ThreadLocalRandom.current().nextBytes(block);
+            monitor.testBlock(block, 0, block.length);
+        }
+        assertThrows(RuntimeException.class, () -> monitor.testBlock(block, 0, block.length));
+    }
+
+    @Test
+    @Order(5)
+    public void testBuilder() {
+        // Health tests enabled
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(new StubEntropySource()).healthTests(true).build();
+        assertTrue(random.isHealthTestsEnabled());
+        for (int i = 0; i < 999999; ++i) {
+            random.nextLong();
+        }
+
+        // Constant seed material is detected
+        final FastKeyErasureRNG broken = FastKeyErasureRNG.builder().entropySource(seed -> Arrays.fill(seed, (byte)0x5A)).healthTests(true).batchSize(4096).build();
+        assertThrows(RuntimeException.class, () -> broken.nextLong());
+        final byte[] buffer = new byte[8192];
+        assertThrows(RuntimeException.class, () -> broken.nextBytes(buffer));
+        for (final byte value : buffer) {
+            assertTrue(value == 0);
+        }
+
+        // Health tests enabled by default
+        assertTrue(FastKeyErasureRNG.builder().build().isHealthTestsEnabled());
+
+        // Health tests disabled, including the tests of the source's raw output
+        final FastKeyErasureRNG unchecked = FastKeyErasureRNG.builder().entropySource(seed -> Arrays.fill(seed, (byte)0x5A)).healthTests(false).build();
+        assertFalse(unchecked.isHealthTestsEnabled());
+        for (int i = 0; i < 99999; ++i) {
+            unchecked.nextLong();
+        }
+        final FastKeyErasureRNG direct = FastKeyErasureRNG.builder().entropy(FastKeyErasureRNG.Entropy.DRBG).healthTests(false).build();
+        assertSame(FastKeyErasureRNG.Entropy.DRBG.getSource(), getInstanceField(direct, FastKeyErasureRNG.class, EntropySource.class, "entropySource"));
+    }
+
+    @Test
+    @Order(6)
+    public void testDefaultDistributor() {
+        // The “root” instances test the raw output of the default harvester, because the health tests are enabled by default
+        final FastKeyErasureRNG root = FastKeyErasureRNG.createRoot();
+        final SeedHarvester harvester = getField(FastKeyErasureRNG.class, SeedHarvester.class, "seedHarvester");
+        final EntropySource rootSource = getInstanceField(root, FastKeyErasureRNG.class, EntropySource.class, "entropySource");
+        assertSame(harvester, getInstanceField(rootSource, HealthTestedEntropySource.class, EntropySource.class, "source"));
+
+        // Constant source material is detected, before any seed is derived from it
+        try (final SeedHarvester stuckHarvester = new SeedHarvester(seed -> Arrays.fill(seed, (byte)0x5A), 32)) {
+            final SeedDistributor distributor = new SeedDistributor(() -> FastKeyErasureRNG.createRoot(stuckHarvester), 1);
+            final byte[] seed = new byte[32];
+            assertThrows(RuntimeException.class, () -> distributor.takeSeed(seed));
+            for (final byte value : seed) {
+                assertTrue(value == 0);
+            }
+        }
+    }
+}
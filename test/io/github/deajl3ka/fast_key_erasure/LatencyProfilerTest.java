@@ -0,0 +1,97 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.github.deajl3ka.fast_key_erasure.LatencyProfiler.Histogram;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class LatencyProfilerTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testHistogramBuckets() {
+        long previousBound = -1L;
+        for (int index = 0; index < 960; ++index) {
+            final long upperBound = Histogram.upperBoundOf(index);
+            assertTrue(upperBound > previousBound);
+            assertEquals(index, Histogram.indexOf(previousBound + 1L));
+            assertEquals(index, Histogram.indexOf(upperBound));
+            assertTrue((upperBound - previousBound - 1L) * 16L <= Math.max(32L, previousBound + 1L));
+            previousBound = upperBound;
+        }
+        assertEquals(Long.MAX_VALUE, previousBound);
+    }
+
+    @Test
+    @Order(2)
+    public void testHistogramPercentiles() {
+        // Record values
+        final Histogram histogram = new Histogram();
+        final long[] values = new long[99991];
+        for (int i = 0; i < values.length; ++i) {
+            histogram.record(values[i] = ThreadLocalRandom.current().nextLong(1L, 1L << 40));
+        }
+        Arrays.sort(values);
+
+        // Verify
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        for (final double percentile : new double[] { 1.0, 50.0, 90.0, 99.0, 99.9, 100.0 }) {
+            final long expected = values[(int) Math.ceil(percentile / 100.0 * values.length) - 1];
+            final long actual = histogram.getValueAtPercentile(percentile);
+            System.out.printf("p%s: %d <= %d%n", percentile, expected, actual);
+            assertTrue((actual >= expected) && (actual - expected <= expected / 16L));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "nextInt, 400", "nextLong, 800", "nextUuid, 1600" })
+    @Order(3)
+    public void testProfileCounts(final String method, final long refills) {
+        // Create profiler
+        final LatencyProfiler profiler = new LatencyProfiler(null, 96, 9600);
+
+        // Profile
+        final Histogram[] histograms = profiler.profile(method);
+        System.out.printf("%d, %d, %d, %d%n", histograms[0].getCount(), histograms[1].getCount(), histograms[2].getCount(), histograms[3].getCount());
+
+        // Verify
+        assertEquals(9600L, histograms[0].getCount());
+        assertEquals(histograms[0].getCount(), histograms[1].getCount() + histograms[2].getCount() + histograms[3].getCount());
+        assertEquals(refills, histograms[2].getCount() + histograms[3].getCount());
+        assertEquals(((2L * refills + 256L) / 257L) - ((refills + 256L) / 257L), histograms[3].getCount());
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import io.github.deajl3ka.fast_key_erasure.FastKeyErasureRNG.ReseedPolicy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ReseedPolicyTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testDefaults() {
+        final ReseedPolicy policy = ReseedPolicy.defaults();
+        assertEquals(257L, policy.getMaxBlocks());
+        assertEquals(Long.MAX_VALUE, policy.getMaxBytes());
+        assertEquals(0L, policy.getMaxAge(TimeUnit.NANOSECONDS));
+        assertFalse(policy.isDeferred());
+        assertThrows(IllegalArgumentException.class, () -> policy.maxBlocks(0L));
+        assertThrows(IllegalArgumentException.class, () -> policy.maxBytes(0L));
+        assertThrows(IllegalArgumentException.class, () -> policy.maxAge(-1L, TimeUnit.SECONDS));
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @CsvSource({ "96, 257, 9223372036854775807, 12", "96, 1, 9223372036854775807, 3084", "96, 257, 24576, 13", "96, 257, 1, 3084", "4096, 257, 65536, 5", "4096, 3, 65536, 24" })
+    public void testBlockLimit(final int batchSize, final long maxBlocks, final long maxBytes, final long expected) {
+        // Create instance
+        final StubEntropySource source = new StubEntropySource();
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(source).batchSize(batchSize).reseedPolicy(ReseedPolicy.defaults().maxBlocks(maxBlocks).maxBytes(maxBytes)).build();
+
+        // Generate blocks
+        for (int i = 0; i < 3084 * 96 / batchSize; ++i) {
+            random.nextBytes(new byte[batchSize]);
+        }
+
+        // Verify
+        assertEquals(expected, source.getCount());
+    }
+
+    @Test
+    @Order(3)
+    public void testByteLimit() {
+        // A byte limit replaces the default block limit, so that it can relax the interval
+        final ReseedPolicy policy1 = ReseedPolicy.defaults().maxBytes(1048576L);
+        assertEquals(Long.MAX_VALUE, policy1.getMaxBlocks());
+        final StubEntropySource source = new StubEntropySource();
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(source).reseedPolicy(policy1).build();
+        assertEquals(1048576L / 96L, getInstanceField(random, FastKeyErasureRNG.class, Long.class, "reseedLimit"));
+        for (int i = 0; i < 20000; ++i) {
+            random.nextBytes(new byte[96]);
+        }
+        assertEquals(2L, source.getCount());
+
+        // An explicit block limit is retained, in either order
+        assertEquals(257L, policy1.maxBlocks(257L).getMaxBlocks());
+        assertEquals(257L, ReseedPolicy.defaults().maxBlocks(257L).maxBytes(1048576L).getMaxBlocks());
+        final FastKeyErasureRNG random2 = FastKeyErasureRNG.builder().entropySource(source).reseedPolicy(policy1.maxBlocks(257L)).build();
+        assertEquals(257L, getInstanceField(random2, FastKeyErasureRNG.class, Long.class, "reseedLimit"));
+    }
+
+    @Test
+    @Order(4)
+    public void testMaxAge() throws InterruptedException {
+        // Create instance
+        final StubEntropySource source = new StubEntropySource();
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(source).reseedPolicy(ReseedPolicy.defaults().maxAge(100L, TimeUnit.MILLISECONDS)).build();
+
+        // Initial seed
+        random.nextBytes(new byte[96]);
+        assertEquals(1L, source.getCount());
+
+        // Re-seed after timeout
+        for (int i = 0; i < 3; ++i) {
+            random.nextBytes(new byte[96]);
+            assertEquals(i + 1L, source.getCount());
+            Thread.sleep(150L);
+            random.nextBytes(new byte[96]);
+            assertEquals(i + 2L, source.getCount());
+        }
+    }
+
+    @Test
+    @Order(5)
+    public void testDeferred() {
+        // Create instance with a source that can never provide a seed without waiting
+        final StubEntropySource source = new StubEntropySource() {
+            @Override
+            public boolean tryGenerateSeed(final byte[] seed) {
+                return false;
+            }
+        };
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(source).reseedPolicy(ReseedPolicy.defaults().maxBlocks(2L).deferred(true)).build();
+
+        // The initial seed is never deferred
+        for (int i = 0; i < 99; ++i) {
+            random.nextBytes(new byte[96]);
+        }
+        assertEquals(1L, source.getCount());
+
+        // Explicit re-seed is never deferred either
+        random.reseed();
+        assertEquals(2L, source.getCount());
+    }
+
+    @Test
+    @Order(6)
+    public void testDeferredHarvester() throws InterruptedException {
+        // Create instance that draws from a harvester whose background thread is blocked
+        final CountDownLatch latch = new CountDownLatch(1);
+        final StubEntropySource source = new StubEntropySource(latch);
+        try (final SeedHarvester harvester = new SeedHarvester(source, 32)) {
+            final FastKeyErasureRNG random = FastKeyErasureRNG.builder().entropySource(harvester).reseedPolicy(ReseedPolicy.defaults().maxBlocks(2L).deferred(true)).build();
+
+            try {
+                // The initial seed falls back to the synchronous path, all later re-seeds are skipped
+                for (int i = 0; i < 99; ++i) {
+                    random.nextBytes(new byte[96]);
+                }
+                assertEquals(1L, harvester.getFallbackCount());
+            } finally {
+                latch.countDown();
+            }
+
+            // Wait for the pool to be filled, and for the background thread to block on the next seed
+            final long stableCount = 1L + SeedHarvester.POOL_SIZE + 1L;
+            for (int i = 0; (i < 1000) && ((harvester.getAvailable() < SeedHarvester.POOL_SIZE) || (source.getCount() < stableCount)); ++i) {
+                Thread.sleep(10L);
+            }
+            assertEquals(stableCount, source.getCount());
+
+            // Re-seeding is resumed, i.e. a seed is taken from the pool, so that the background thread generates a new one
+            random.nextBytes(new byte[96]);
+            for (int i = 0; (i < 1000) && (source.getCount() <= stableCount); ++i) {
+                Thread.sleep(10L);
+            }
+            assertTrue(source.getCount() > stableCount);
+            assertEquals(1L, harvester.getFallbackCount());
+        }
+    }
+
+    @Test
+    @Order(7)
+    public void testReseedAll() throws InterruptedException {
+        // Create instances
+        final StubEntropySource source = new StubEntropySource();
+        final FastKeyErasureRNG random1 = FastKeyErasureRNG.builder().entropySource(source).build();
+        final FastKeyErasureRNG random2 = FastKeyErasureRNG.builder().entropySource(source).batchSize(4096).build();
+
+        // Initial seed
+        random1.nextInt();
+        random2.nextInt();
+        assertEquals(2L, source.getCount());
+
+        // Buffered output is used, no re-seed
+        random1.nextInt();
+        random2.nextInt();
+        assertEquals(2L, source.getCount());
+
+        // Each instance is re-seeded once, on its next use
+        for (int i = 1; i <= 3; ++i) {
+            FastKeyErasureRNG.reseedAll();
+            assertEquals(2L * i, source.getCount());
+            random1.nextInt();
+            assertEquals(2L * i + 1L, source.getCount());
+            random1.nextInt();
+            random2.nextBytes(new byte[8192]);
+            assertEquals(2L * i + 2L, source.getCount());
+            random2.nextInt();
+            assertEquals(2L * i + 2L, source.getCount());
+        }
+
+        // Thread-local instances are re-seeded too
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        final Thread thread = new Thread(() -> {
+            try {
+                final FastKeyErasureRNG random = FastKeyErasureRNG.current();
+                final AtomicInteger globalEpoch = getField(FastKeyErasureRNG.class, AtomicInteger.class, "globalEpoch");
+                random.nextLong();
+                assertEquals(globalEpoch.get(), getInstanceField(random, FastKeyErasureRNG.class, Integer.class, "reseedEpoch"));
+                FastKeyErasureRNG.reseedAll();
+                assertNotEquals(globalEpoch.get(), getInstanceField(random, FastKeyErasureRNG.class, Integer.class, "reseedEpoch"));
+                random.nextLong();
+                assertEquals(globalEpoch.get(), getInstanceField(random, FastKeyErasureRNG.class, Integer.class, "reseedEpoch"));
+            } catch (final Throwable e) {
+                error.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        if (error.get() != null) {
+            throw new AssertionError("Thread-local instance was not re-seeded!", error.get());
+        }
+    }
+
+    @Test
+    @Order(8)
+    public void testInvalidProperties() {
+        try {
+            // Valid values are used
+            System.setProperty("io.github.deajl3ka.fast_key_erasure.reseed.blocks", "1000");
+            System.setProperty("io.github.deajl3ka.fast_key_erasure.reseed.age", "60000");
+            assertTrue(captureWarnings(FastKeyErasureRNG.class, () -> {
+                final ReseedPolicy policy1 = ReseedPolicy.fromProperties();
+                assertEquals(1000L, policy1.getMaxBlocks());
+                assertEquals(60L, policy1.getMaxAge(TimeUnit.SECONDS));
+            }).isEmpty());
+
+            // Each invalid value is replaced by its default, with a warning
+            System.setProperty("io.github.deajl3ka.fast_key_erasure.reseed.blocks", "1e6");
+            System.setProperty("io.github.deajl3ka.fast_key_erasure.reseed.bytes", "0");
+            System.setProperty("io.github.deajl3ka.fast_key_erasure.reseed.age", "-1");
+            System.setProperty("io.github.deajl3ka.fast_key_erasure.reseed.deferred", "yes");
+            final List<String> warnings = captureWarnings(FastKeyErasureRNG.class, () -> {
+                final ReseedPolicy policy2 = ReseedPolicy.fromProperties();
+                assertEquals(ReseedPolicy.defaults().getMaxBlocks(), policy2.getMaxBlocks());
+                assertEquals(ReseedPolicy.defaults().getMaxBytes(), policy2.getMaxBytes());
+                assertEquals(0L, policy2.getMaxAge(TimeUnit.NANOSECONDS));
+                assertFalse(policy2.isDeferred());
+            });
+            assertEquals(4, warnings.size());
+        } finally {
+            System.clearProperty("io.github.deajl3ka.fast_key_erasure.reseed.blocks");
+            System.clearProperty("io.github.deajl3ka.fast_key_erasure.reseed.bytes");
+            System.clearProperty("io.github.deajl3ka.fast_key_erasure.reseed.age");
+            System.clearProperty("io.github.deajl3ka.fast_key_erasure.reseed.deferred");
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.github.fzakaria.ascii85.Ascii85;
+
+import io.github.deajl3ka.fast_key_erasure.FastKeyErasureRNG.ReseedPolicy;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SeedDistributorTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @ParameterizedTest
+    @Order(1)
+    @CsvSource({ "1, 1", "2, 2", "3, 4", "5, 8", "64, 64" })
+    public void testRootCount(final int rootCount, final int expected) {
+        final SeedDistributor distributor = new SeedDistributor(FastKeyErasureRNG::createRoot, rootCount);
+        assertEquals(expected, distributor.getRootCount());
+        assertThrows(IllegalArgumentException.class, () -> new SeedDistributor(FastKeyErasureRNG::createRoot, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SeedDistributor(FastKeyErasureRNG::createRoot, SeedDistributor.MAX_ROOTS + 1));
+    }
+
+    @Test
+    @Order(2)
+    public void testTakeSeed() throws InterruptedException {
+        // Create distributor
+        final AtomicInteger created = new AtomicInteger();
+        final SeedDistributor distributor = new SeedDistributor(() -> {
+            created.incrementAndGet();
+            return FastKeyErasureRNG.createRoot();
+        }, 4);
+
+        // Take seeds from multiple threads
+        final Set<String> seeds = Collections.synchronizedSet(new HashSet<String>());
+        final Thread[] threads = new Thread[16];
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 9999; ++j) {
+                    final byte[] seed = new byte[32];
+                    if ((j % 2 == 0) || (!distributor.tryTakeSeed(seed))) {
+                        distributor.takeSeed(seed);
+                    }
+                    assertTrue(seeds.add(Ascii85.encode(seed)));
+                }
+            });
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // Verify
+        System.out.printf("Seeds: %d, roots: %d%n", seeds.size(), created.get());
+        assertEquals(threads.length * 9999, seeds.size());
+        assertTrue(created.get() <= threads.length);
+    }
+
+    @Test
+    @Order(3)
+    public void testTryTakeSeed() {
+        // Create distributor whose root draws from a source that can never provide a seed without waiting
+        final StubEntropySource source = new StubEntropySource();
+        final SeedDistributor distributor = new SeedDistributor(() -> FastKeyErasureRNG.builder().entropySource(source).reseedPolicy(ReseedPolicy.defaults().maxBlocks(2L)).build(), 1);
+        final byte[] seed = new byte[32];
+
+        // The root has not been seeded yet, so it must not wait for its initial seed
+        assertFalse(distributor.tryTakeSeed(seed));
+        assertEquals(0L, source.getCount());
+
+        // Seed the root synchronously
+        distributor.takeSeed(seed);
+        assertEquals(1L, source.getCount());
+
+        // Due re-seeds of the root are deferred, rather than waiting for a seed
+        for (int i = 0; i < 99; ++i) {
+            assertTrue(distributor.tryTakeSeed(seed));
+        }
+        assertEquals(1L, source.getCount());
+
+        // The pending re-seed is performed synchronously, as soon as the root generates its next block
+        for (int i = 0; i < 3; ++i) {
+            distributor.takeSeed(seed);
+        }
+        assertEquals(2L, source.getCount());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import com.github.fzakaria.ascii85.Ascii85;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class SeedHarvesterTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testTakeSeed() throws InterruptedException {
+        // Create harvester
+        try (final SeedHarvester harvester = new SeedHarvester(new StubEntropySource(), 32)) {
+            harvester.takeSeed();
+
+            // Wait for the pool to be filled
+            for (int i = 0; (i < 1000) && (harvester.getAvailable() < SeedHarvester.POOL_SIZE); ++i) {
+                Thread.sleep(10L);
+            }
+            assertEquals(SeedHarvester.POOL_SIZE, harvester.getAvailable());
+
+            // Take seeds
+            final long fallbackCount = harvester.getFallbackCount();
+            final Set<String> seeds = new HashSet<String>();
+            for (int i = 0; i < SeedHarvester.POOL_SIZE; ++i) {
+                final byte[] seed = harvester.takeSeed();
+                assertEquals(32, seed.length);
+                final String encoded = Ascii85.encode(seed);
+                System.out.println(encoded);
+                assertTrue(seeds.add(encoded));
+            }
+
+            // Verify
+            assertEquals(fallbackCount, harvester.getFallbackCount());
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void testEmptyPool() {
+        // Create harvester with a source that blocks the background thread
+        final CountDownLatch latch = new CountDownLatch(1);
+        final StubEntropySource source = new StubEntropySource(latch), fallback = new StubEntropySource();
+        final SeedHarvester harvester = new SeedHarvester(source, fallback, 32);
+
+        try {
+            // Take seeds, which must fall back to the non-blocking source without waiting for the background thread
+            for (int i = 0; i < 9; ++i) {
+                final long startTime = System.nanoTime();
+                final byte[] seed = harvester.takeSeed();
+                final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+                assertEquals(32, seed.length);
+                assertTrue(elapsed < 1000L);
+            }
+
+            // Verify
+            assertEquals(0, harvester.getAvailable());
+            assertEquals(9L, harvester.getFallbackCount());
+            assertEquals(9L, fallback.getCount());
+            assertEquals(0L, source.getCount());
+        } finally {
+            latch.countDown();
+            harvester.close();
+        }
+    }
+
+    @Test
+    @Order(3)
+    public void testFailingSource() throws InterruptedException {
+        // Create harvester with a source that fails on the background thread a few times
+        try (final SeedHarvester harvester = new SeedHarvester(new StubEntropySource(null, 3), 32)) {
+            harvester.takeSeed();
+
+            // Wait for the pool to be filled, the background thread must survive the failures
+            for (int i = 0; (i < 1000) && (harvester.getAvailable() < SeedHarvester.POOL_SIZE); ++i) {
+                Thread.sleep(10L);
+            }
+            assertEquals(SeedHarvester.POOL_SIZE, harvester.getAvailable());
+            assertTrue(harvester.isRunning());
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void testClose() throws InterruptedException {
+        // Create harvester with a source that blocks the background thread
+        final CountDownLatch latch = new CountDownLatch(1);
+        final SeedHarvester harvester = new SeedHarvester(new StubEntropySource(latch), 32);
+        harvester.takeSeed();
+        assertTrue(harvester.isRunning());
+
+        // Close harvester, which must stop the background thread
+        harvester.close();
+        for (int i = 0; (i < 1000) && harvester.isRunning(); ++i) {
+            Thread.sleep(10L);
+        }
+        assertFalse(harvester.isRunning());
+        assertEquals(0, harvester.getAvailable());
+
+        // Seeds are still generated synchronously, but the thread is not restarted
+        assertEquals(32, harvester.takeSeed().length);
+        assertFalse(harvester.isRunning());
+    }
+
+    @Test
+    @Order(5)
+    public void testDiscardInFlight() throws InterruptedException {
+        // Create harvester
+        final StubEntropySource source = new StubEntropySource();
+        try (final SeedHarvester harvester = new SeedHarvester(source, 32)) {
+            final long consumed = harvester.tryGenerateSeed(new byte[32]) ? 1L : 0L;
+
+            // Wait for the pool to be filled, and for the background thread to block while adding the next seed
+            final long stableCount = consumed + SeedHarvester.POOL_SIZE + 1L;
+            for (int i = 0; (i < 1000) && ((harvester.getAvailable() < SeedHarvester.POOL_SIZE) || (source.getCount() < stableCount)); ++i) {
+                Thread.sleep(10L);
+            }
+            assertEquals(stableCount, source.getCount());
+            final String inFlight = Ascii85.encode(source.getLastSeed());
+
+            // Discard, as done by reseedAll(), which frees a slot for the seed that is in flight
+            harvester.discard();
+
+            // Neither the seed that was in flight nor any other old seed must be handed out
+            final Set<String> seeds = new HashSet<String>();
+            for (int i = 0; i < 2 * SeedHarvester.POOL_SIZE; ++i) {
+                final String encoded = Ascii85.encode(harvester.takeSeed());
+                assertTrue(seeds.add(encoded));
+                assertNotEquals(inFlight, encoded);
+            }
+        }
+    }
+}
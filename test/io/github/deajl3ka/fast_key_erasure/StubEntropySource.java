@@ -0,0 +1,77 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entropy source for testing, which counts the generated seeds and can optionally block (or fail) the background thread of the {@link SeedHarvester}
+ */
+class StubEntropySource implements EntropySource {
+
+    private final CountDownLatch latch;
+
+    private final AtomicInteger failures;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile byte[] lastSeed;
+
+    public StubEntropySource(final CountDownLatch latch, final int failures) {
+        this.latch = latch;
+        this.failures = new AtomicInteger(failures);
+    }
+
+    public StubEntropySource(final CountDownLatch latch) {
+        this(latch, 0);
+    }
+
+    public StubEntropySource() {
+        this(null);
+    }
+
+    @Override
+    public void generateSeed(final byte[] seed) {
+        if (Thread.currentThread().getName().endsWith("SeedHarvester")) {
+            if (failures.getAndUpdate(value -> Math.max(value - 1, 0)) > 0) {
+                throw new IllegalStateException("Entropy source failure!");
+            }
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        ThreadLocalRandom.current().nextBytes(seed);
+        lastSeed = seed.clone();
+        count.incrementAndGet();
+    }
+
+    public byte[] getLastSeed() {
+        return lastSeed;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class TokenGeneratorTest extends AbstractUnitTest {
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @ParameterizedTest
+    @Order(1)
+    @EnumSource(TokenGenerator.Alphabet.class)
+    public void testAlphabets(final TokenGenerator.Alphabet alphabet) {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final TokenGenerator generator = TokenGenerator.of(alphabet, 32);
+        assertEquals(32, generator.getLength());
+        assertEquals(alphabet.getCharacters(), generator.getAlphabet());
+        assertDistribution(random, generator);
+    }
+
+    @ParameterizedTest
+    @Order(2)
+    @ValueSource(strings = { "ab", "abc", "0123456789", "!#$%&*+-=?@^_~", "!\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstuvwxyz{|}~" })
+    public void testCustomAlphabets(final String alphabet) {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final TokenGenerator generator = TokenGenerator.of(alphabet, 16);
+        assertEquals(16.0 * Math.log(alphabet.length()) / Math.log(2.0), generator.getEntropyBits(), 1e-9);
+        assertDistribution(random, generator);
+    }
+
+    @Test
+    @Order(3)
+    public void testOutputTypes() {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final TokenGenerator generator = TokenGenerator.of(TokenGenerator.Alphabet.CROCKFORD_BASE32, 26);
+        final Set<String> tokens = new HashSet<String>();
+
+        // Batch into a char[], without touching the surrounding elements
+        final char[] chars = new char[2 + 26 * 1000];
+        Arrays.fill(chars, '.');
+        generator.nextTokens(random, chars, 1, 1000);
+        assertEquals('.', chars[0]);
+        assertEquals('.', chars[chars.length - 1]);
+        for (int i = 0; i < 1000; ++i) {
+            assertTrue(tokens.add(new String(chars, 1 + 26 * i, 26)));
+        }
+
+        // StringBuilder
+        final StringBuilder builder = new StringBuilder("prefix-");
+        generator.nextToken(random, builder);
+        assertEquals(7 + 26, builder.length());
+        assertTrue(builder.toString().startsWith("prefix-"));
+        assertTrue(tokens.add(builder.substring(7)));
+
+        // Heap and direct ByteBuffer
+        for (final ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.allocate(26 * 100 + 1), ByteBuffer.allocateDirect(26 * 100 + 1) }) {
+            buffer.put((byte) '.');
+            generator.nextTokens(random, buffer, 100);
+            assertEquals(buffer.capacity(), buffer.position());
+            buffer.flip();
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            assertEquals('.', bytes[0]);
+            final String text = new String(bytes, StandardCharsets.US_ASCII);
+            for (int i = 0; i < 100; ++i) {
+                assertTrue(tokens.add(text.substring(1 + 26 * i, 1 + 26 * (i + 1))));
+            }
+        }
+
+        // Convenience methods
+        assertEquals(26, generator.nextToken().length());
+        assertTrue(generator.nextToken(random).chars().allMatch(c -> TokenGenerator.Alphabet.CROCKFORD_BASE32.getCharacters().indexOf(c) >= 0));
+
+        // Tokens never repeat
+        for (int i = 0; i < 99999; ++i) {
+            assertTrue(tokens.add(generator.nextToken(random)));
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of((String) null, 16));
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of((TokenGenerator.Alphabet) null, 16));
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of(TokenGenerator.Alphabet.HEX, 0));
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of("a", 16));
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of("abca", 16));
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of("ab c", 16));
+        assertThrows(IllegalArgumentException.class, () -> TokenGenerator.of("abcä", 16));
+
+        final FastKeyErasureRNG random = FastKeyErasureRNG.current();
+        final TokenGenerator generator = TokenGenerator.of(TokenGenerator.Alphabet.HEX, 16);
+        assertThrows(IllegalArgumentException.class, () -> generator.nextToken(null, new char[16], 0));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextToken(random, (char[]) null, 0));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextToken(random, new char[16], 1));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextTokens(random, new char[64], 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextTokens(random, new char[64], 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextToken(random, (StringBuilder) null));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextToken(random, ByteBuffer.allocate(15)));
+        assertThrows(IllegalArgumentException.class, () -> generator.nextToken(random, ByteBuffer.allocate(16).asReadOnlyBuffer()));
+    }
+
+    // ======================================================================
+    // Utility methods
+    // ======================================================================
+
+    private static void assertDistribution(final FastKeyErasureRNG random, final TokenGenerator generator) {
+        final String alphabet = generator.getAlphabet();
+        final int length = generator.getLength(), count = 49999;
+        final char[] output = new char[length * count];
+        generator.nextTokens(random, output, 0, count);
+
+        final int[] counts = new int[0x80];
+        for (final char c : output) {
+            assertTrue(alphabet.indexOf(c) >= 0);
+            ++counts[c];
+        }
+        final double expected = output.length / (double) alphabet.length();
+        for (final char c : alphabet.toCharArray()) {
+            assertTrue(Math.abs(counts[c] - expected) <= 6.0 * Math.sqrt(expected), String.format("char=%c, count=%d, expected=%.1f", c, counts[c], expected));
+        }
+    }
+}
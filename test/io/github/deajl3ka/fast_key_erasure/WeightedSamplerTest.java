@@ -0,0 +1,154 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class WeightedSamplerTest extends AbstractUnitTest {
+
+    private static final int SAMPLE_COUNT = 4999999;
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @ParameterizedTest
+    @Order(1)
+    @ValueSource(ints = { 1, 2, 3, 10, 97, 1000 })
+    public void testDistribution(final int size) {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final double[] weights = new double[size];
+        for (int i = 0; i < size; ++i) {
+            weights[i] = (i % 5 == 3) ? 0.0 : 1.0 + (i % 7);
+        }
+        if (size == 1) {
+            weights[0] = 0.25;
+        }
+        final double total = Arrays.stream(weights).sum();
+
+        final WeightedSampler sampler = WeightedSampler.of(weights);
+        assertEquals(size, sampler.getSize());
+        final int[] counts = new int[size];
+        for (int i = 0; i < SAMPLE_COUNT; ++i) {
+            ++counts[sampler.sample(random)];
+        }
+
+        for (int i = 0; i < size; ++i) {
+            final double expected = SAMPLE_COUNT * weights[i] / total;
+            assertTrue(Math.abs(counts[i] - expected) <= 6.0 * Math.sqrt(expected) + 1.0, String.format("index=%d, count=%d, expected=%.1f", i, counts[i], expected));
+        }
+    }
+
+    @Test
+    @Order(2)
+    public void testLongWeightsAndBulk() {
+        final WeightedSampler sampler = WeightedSampler.of(new long[] { 0L, 1L, 0L, 3L });
+        final int[] output = new int[SAMPLE_COUNT];
+        sampler.sample(output);
+        final int[] counts = new int[4];
+        Arrays.stream(output).forEach(index -> ++counts[index]);
+        assertEquals(0, counts[0]);
+        assertEquals(0, counts[2]);
+        assertEquals(0.25, counts[1] / (double) SAMPLE_COUNT, 0.002);
+        assertEquals(0.75, counts[3] / (double) SAMPLE_COUNT, 0.002);
+
+        // Offset and length
+        final int[] partial = new int[] { -1, -1, -1, -1, -1 };
+        sampler.sample(FastKeyErasureRNG.current(), partial, 1, 3);
+        assertEquals(-1, partial[0]);
+        assertEquals(-1, partial[4]);
+        assertTrue(Arrays.stream(partial, 1, 4).allMatch(index -> (index == 1) || (index == 3)));
+    }
+
+    @Test
+    @Order(3)
+    public void testUpdate() throws InterruptedException {
+        final WeightedSampler sampler = WeightedSampler.of(new double[] { 1.0, 0.0 });
+        assertEquals(0, sampler.sample());
+
+        // Concurrent samplers see either the old or the new table, but never an inconsistent one
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            threads[t] = new Thread(() -> {
+                try {
+                    final FastKeyErasureRNG random = FastKeyErasureRNG.current();
+                    while (!stop.get()) {
+                        final int index = sampler.sample(random);
+                        if ((index < 0) || (index > 2)) {
+                            throw new AssertionError("Index out of range: " + index);
+                        }
+                    }
+                } catch (final Throwable e) {
+                    error.set(e);
+                }
+            });
+            threads[t].start();
+        }
+        for (int i = 0; i < 9999; ++i) {
+            sampler.update((i % 2 == 0) ? new double[] { 0.0, 0.0, 1.0 } : new double[] { 1.0, 2.0 });
+        }
+        stop.set(true);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(error.get());
+
+        sampler.update(new long[] { 0L, 0L, 0L, 5L });
+        assertEquals(4, sampler.getSize());
+        for (int i = 0; i < 9999; ++i) {
+            assertEquals(3, sampler.sample());
+        }
+    }
+
+    @Test
+    @Order(4)
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of((double[]) null));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of((long[]) null));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of(new double[] { 1.0, -1.0 }));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of(new double[] { 1.0, Double.NaN }));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of(new double[] { Double.POSITIVE_INFINITY }));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of(new double[] { Double.MAX_VALUE, Double.MAX_VALUE }));
+        assertThrows(IllegalArgumentException.class, () -> WeightedSampler.of(new long[] { 0L, 0L }));
+
+        final WeightedSampler sampler = WeightedSampler.of(new double[] { 1.0 });
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample((FastKeyErasureRNG) null));
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample((int[]) null));
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(FastKeyErasureRNG.current(), new int[3], 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> sampler.update(new double[] { -1.0 }));
+        assertEquals(1, sampler.getSize());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * FastKeyErasureRNG: Fast-key-erasure random-number generator for Java
+ * Copyright (c) 2023 "dEajL3kA" <Cumpoing79@web.de>
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sub license, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions: The above copyright notice and this
+ * permission notice shall be included in all copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.deajl3ka.fast_key_erasure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class ZigguratTest extends AbstractUnitTest {
+
+    private static final int SAMPLE_COUNT = 4999999;
+
+    // ======================================================================
+    // Test methods
+    // ======================================================================
+
+    @Test
+    @Order(1)
+    public void testGaussian() {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final double[] values = new double[SAMPLE_COUNT];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextGaussian();
+        }
+
+        // Moments
+        final double[] moments = computeMoments(values);
+        assertEquals(0.0, moments[0], 0.002);
+        assertEquals(1.0, moments[1], 0.003);
+        assertEquals(0.0, moments[2], 0.01);
+        assertEquals(3.0, moments[3], 0.02);
+
+        // Cumulative distribution, including the tail beyond the base layer
+        assertEquals(0.158655, fractionBelow(values, -1.0), 0.001);
+        assertEquals(0.691462, fractionBelow(values, 0.5), 0.001);
+        assertEquals(0.977250, fractionBelow(values, 2.0), 0.0005);
+        assertEquals(1.29e-4, 1.0 - fractionBelow(values, 3.6541528853610088), 0.3e-4);
+    }
+
+    @Test
+    @Order(2)
+    public void testExponential() {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final double[] values = new double[SAMPLE_COUNT];
+        random.nextExponentials(values);
+        assertTrue(Arrays.stream(values).allMatch(value -> value >= 0.0));
+
+        // Moments
+        final double[] moments = computeMoments(values);
+        assertEquals(1.0, moments[0], 0.002);
+        assertEquals(1.0, moments[1], 0.005);
+
+        // Cumulative distribution, including the tail beyond the base layer
+        assertEquals(0.393469, fractionBelow(values, 0.5), 0.001);
+        assertEquals(0.632121, fractionBelow(values, 1.0), 0.001);
+        assertEquals(0.950213, fractionBelow(values, 3.0), 0.0005);
+        assertEquals(4.54e-4, 1.0 - fractionBelow(values, 7.69711747013104972), 0.5e-4);
+    }
+
+    @Test
+    @Order(3)
+    public void testMeanAndDeviation() {
+        final FastKeyErasureRNG random = FastKeyErasureRNG.builder().build();
+        final double[] values = new double[SAMPLE_COUNT];
+        random.nextGaussians(values, 0, values.length, -3.0, 0.5);
+        final double[] moments = computeMoments(values);
+        assertEquals(-3.0, moments[0], 0.001);
+        assertEquals(0.25, moments[1], 0.001);
+
+        // A standard deviation of 0.0 always returns the mean
+        for (int i = 0; i < 99; ++i) {
+            assertEquals(42.0, random.nextGaussian(42.0, 0.0));
+        }
+
+        // Invalid arguments
+        assertThrows(IllegalArgumentException.class, () -> random.nextGaussian(0.0, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> random.nextGaussian(0.0, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> random.nextGaussians(values, 0, values.length, 0.0, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> random.nextGaussians(null));
+        assertThrows(IllegalArgumentException.class, () -> random.nextExponentials(values, 1, values.length));
+    }
+
+    // ======================================================================
+    // Utility methods
+    // ======================================================================
+
+    /**
+     * Returns the mean, the variance, the skewness and the kurtosis of the given values
+     */
+    private static double[] computeMoments(final double[] values) {
+        final double mean = Arrays.stream(values).sum() / values.length;
+        double m2 = 0.0, m3 = 0.0, m4 = 0.0;
+        for (final double value : values) {
+            final double d = value - mean, d2 = d * d;
+            m2 += d2;
+            m3 += d2 * d;
+            m4 += d2 * d2;
+        }
+        m2 /= values.length;
+        m3 /= values.length;
+        m4 /= values.length;
+        return new double[] { mean, m2, m3 / Math.pow(m2, 1.5), m4 / (m2 * m2) };
+    }
+
+    private static double fractionBelow(final double[] values, final double threshold) {
+        return Arrays.stream(values).filter(value -> value < threshold).count() / (double) values.length;
+    }
+}